@@ -61,6 +61,7 @@ allprojects {
         modImplementation(fabricApi.module("fabric-networking-api-v1", fabricApiVersion))
         modImplementation(fabricApi.module("fabric-lifecycle-events-v1", fabricApiVersion))
 
+        modCompileOnly(fabricApi.module("fabric-command-api-v2", fabricApiVersion))
         modCompileOnly(fabricApi.module("fabric-gametest-api-v1", fabricApiVersion))
         modLocalImplementation("org.ladysnake:elmendorf:${props["elmendorf_version"]}")
 
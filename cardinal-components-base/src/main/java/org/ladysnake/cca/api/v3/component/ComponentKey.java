@@ -37,12 +37,17 @@ import org.jetbrains.annotations.Nullable;
 import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
 import org.ladysnake.cca.api.v3.component.sync.ComponentPacketWriter;
 import org.ladysnake.cca.api.v3.component.sync.PlayerSyncPredicate;
+import org.ladysnake.cca.api.v3.component.sync.SyncInterest;
+import org.ladysnake.cca.api.v3.component.sync.SyncRateLimit;
+import org.ladysnake.cca.internal.base.ComponentSyncScheduler;
 import org.ladysnake.cca.internal.base.ComponentsInternals;
+import org.ladysnake.cca.internal.base.SyncMetrics;
 import org.ladysnake.cca.internal.base.asm.CcaBootstrap;
 
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A key for retrieving {@link Component} instances from component providers.
@@ -122,7 +127,7 @@ public abstract class ComponentKey<C extends Component> {
 
     @Contract(pure = true)
     public boolean isProvidedBy(Object provider) {
-        return this.getNullable(provider) != null;
+        return ((ComponentProvider) provider).getComponentContainer().keys().contains(this);
     }
 
     /**
@@ -174,11 +179,129 @@ public abstract class ComponentKey<C extends Component> {
      * @see ComponentAccess#syncComponent(ComponentKey, ComponentPacketWriter, PlayerSyncPredicate)
      */
     public void sync(Object provider, ComponentPacketWriter packetWriter, PlayerSyncPredicate predicate) {
-        for (ServerPlayerEntity player : ((ComponentProvider) provider).getRecipientsForComponentSync()) {
-            this.syncWith(player, (ComponentProvider) provider, packetWriter, predicate);
+        ComponentProvider p = (ComponentProvider) provider;
+
+        if (this.syncInterest == SyncInterest.UNLIMITED && this.syncRateLimit == SyncRateLimit.NONE) {
+            p.forEachSyncRecipient(ComponentKey::syncWithRecipient, this, packetWriter, predicate);
+        } else {
+            p.forEachSyncRecipient(ComponentSyncScheduler::sync, this, packetWriter, predicate);
         }
     }
 
+    private static void syncWithRecipient(ServerPlayerEntity player, ComponentKey<?> key, ComponentProvider provider, ComponentPacketWriter writer, PlayerSyncPredicate predicate) {
+        key.syncWith(player, provider, writer, predicate);
+    }
+
+    /**
+     * Restricts which players receive updates broadcast through {@link #sync(Object)} and its overloads, based on their distance
+     * to the synced provider.
+     *
+     * <p>This should be called once, during mod initialization. Targeted syncs through {@link #syncWith}, like the initial sync
+     * players get when they start tracking an entity, are not affected.
+     *
+     * @param interest the interest management settings to use for this key
+     * @throws IllegalStateException if the Fabric Lifecycle Events module is not installed and {@code interest} is not {@link SyncInterest#UNLIMITED}
+     * @see SyncInterest
+     * @since 6.3.0
+     */
+    @ApiStatus.Experimental
+    public final void setSyncInterest(SyncInterest interest) {
+        if (interest != SyncInterest.UNLIMITED && !FabricLoader.getInstance().isModLoaded("fabric-lifecycle-events-v1")) {
+            throw new IllegalStateException("Sync interest management requires the Fabric Lifecycle Events module");
+        }
+        this.syncInterest = Objects.requireNonNull(interest);
+    }
+
+    /**
+     * @return the interest management settings used when broadcasting updates of this key's components
+     * @see #setSyncInterest(SyncInterest)
+     * @since 6.3.0
+     */
+    @ApiStatus.Experimental
+    public final SyncInterest getSyncInterest() {
+        return this.syncInterest;
+    }
+
+    /**
+     * Limits how often updates broadcast through {@link #sync(Object)} and its overloads get sent to each player.
+     *
+     * <p>This should be called once, during mod initialization. Targeted syncs through {@link #syncWith}, like the initial sync
+     * players get when they start tracking an entity, are not affected.
+     *
+     * @param rateLimit the rate limit to use for this key
+     * @throws IllegalStateException if the Fabric Lifecycle Events module is not installed and {@code rateLimit} is not {@link SyncRateLimit#NONE}
+     * @see SyncRateLimit
+     * @since 6.3.0
+     */
+    @ApiStatus.Experimental
+    public final void setSyncRateLimit(SyncRateLimit rateLimit) {
+        if (rateLimit != SyncRateLimit.NONE && !FabricLoader.getInstance().isModLoaded("fabric-lifecycle-events-v1")) {
+            throw new IllegalStateException("Sync rate limits require the Fabric Lifecycle Events module");
+        }
+        this.syncRateLimit = Objects.requireNonNull(rateLimit);
+    }
+
+    /**
+     * @return the rate limit used when broadcasting updates of this key's components
+     * @see #setSyncRateLimit(SyncRateLimit)
+     * @since 6.3.0
+     */
+    @ApiStatus.Experimental
+    public final SyncRateLimit getSyncRateLimit() {
+        return this.syncRateLimit;
+    }
+
+    /**
+     * Sets a preset dictionary used when compressing this key's sync data.
+     *
+     * <p>Sync data only gets compressed when it is larger than the {@code sync-compression-threshold} set in the config.
+     * A dictionary holding byte sequences that commonly appear in the data, like NBT keys, makes small payloads compress
+     * much better. Servers and clients must use the exact same dictionary, so it should be set once, during mod initialization.
+     *
+     * @param dictionary the preset dictionary, or {@code null} to compress without one
+     * @see java.util.zip.Deflater#setDictionary(byte[])
+     * @since 6.3.0
+     */
+    @ApiStatus.Experimental
+    public final void setSyncCompressionDictionary(byte @Nullable [] dictionary) {
+        this.syncCompressionDictionary = dictionary == null ? null : dictionary.clone();
+    }
+
+    /**
+     * @return the preset dictionary used when compressing this key's sync data, or {@code null} if none is set
+     * @see #setSyncCompressionDictionary(byte[])
+     * @since 6.3.0
+     */
+    @ApiStatus.Experimental
+    public final byte @Nullable [] getSyncCompressionDictionary() {
+        return this.syncCompressionDictionary;
+    }
+
+    /**
+     * Sets the decoder turning this key's saved data into snapshots off the main thread.
+     *
+     * <p>Loaded data only gets decoded this way for components implementing {@link SnapshotDeserializableComponent},
+     * which must accept the snapshots produced by {@code decoder}. This should be called once, during mod initialization.
+     *
+     * @param decoder the decoder to use, or {@code null} to deserialize this key's components on the main thread
+     * @see SnapshotDeserializableComponent
+     * @since 6.3.0
+     */
+    @ApiStatus.Experimental
+    public final void setSnapshotDecoder(SnapshotDeserializableComponent.@Nullable Decoder<?> decoder) {
+        this.snapshotDecoder = decoder;
+    }
+
+    /**
+     * @return the decoder turning this key's saved data into snapshots, or {@code null} if none is set
+     * @see #setSnapshotDecoder(SnapshotDeserializableComponent.Decoder)
+     * @since 6.3.0
+     */
+    @ApiStatus.Experimental
+    public final SnapshotDeserializableComponent.@Nullable Decoder<?> getSnapshotDecoder() {
+        return this.snapshotDecoder;
+    }
+
     /**
      * Attempts to synchronize the component attached to the given provider with the given {@code player}.
      *
@@ -199,15 +322,31 @@ public abstract class ComponentKey<C extends Component> {
 
     @ApiStatus.Experimental
     public void syncWith(ServerPlayerEntity player, ComponentProvider provider, ComponentPacketWriter writer, PlayerSyncPredicate predicate) {
+        this.sendSyncPacket(player, provider, writer, predicate);
+    }
+
+    /**
+     * Same as {@link #syncWith(ServerPlayerEntity, ComponentProvider, ComponentPacketWriter, PlayerSyncPredicate)},
+     * but reports how much component data got sent.
+     *
+     * @return the size of the component data sent to {@code player}, or {@code -1} if nothing got sent
+     */
+    @ApiStatus.Internal
+    public final int sendSyncPacket(ServerPlayerEntity player, ComponentProvider provider, ComponentPacketWriter writer, PlayerSyncPredicate predicate) {
         if (predicate.shouldSyncWith(player)) {
+            long start = System.nanoTime();
             RegistryByteBuf buf = new RegistryByteBuf(Unpooled.buffer(), player.getServerWorld().getRegistryManager());
             writer.writeSyncPacket(buf, player);
             CustomPayload payload = provider.toComponentPacket(this, predicate.isRequiredOnClient(), buf);
 
             if (payload != null) {
                 if (ServerPlayNetworking.canSend(player, payload.getId())) {
+                    int size = buf.readableBytes();
+                    SyncMetrics.recordUpdate(this, provider, size, System.nanoTime() - start);
                     ServerPlayNetworking.getSender(player).sendPacket(payload, PacketCallbacks.always(buf::release));
+                    return size;
                 } else {
+                    SyncMetrics.recordSuppressed(this, provider);
                     if (predicate.isRequiredOnClient()) {
                         String specificMod = FabricLoader.getInstance().getModContainer(this.id.getNamespace()).map(c -> c.getMetadata().getName() + " and ").orElse("");
                         player.networkHandler.disconnect(Text.literal(
@@ -221,6 +360,7 @@ public abstract class ComponentKey<C extends Component> {
                 buf.release();
             }
         }
+        return -1;
     }
 
     @Override
@@ -231,8 +371,15 @@ public abstract class ComponentKey<C extends Component> {
     /* ------------ internal members ------------- */
 
 
+    private static final AtomicInteger nextRawId = new AtomicInteger();
+
     private final Identifier id;
     private final Class<C> componentClass;
+    private final int rawId;
+    private volatile SyncInterest syncInterest = SyncInterest.UNLIMITED;
+    private volatile SyncRateLimit syncRateLimit = SyncRateLimit.NONE;
+    private volatile byte @Nullable [] syncCompressionDictionary;
+    private volatile SnapshotDeserializableComponent.@Nullable Decoder<?> snapshotDecoder;
 
     /**
      * Constructs a new immutable ComponentType
@@ -244,6 +391,15 @@ public abstract class ComponentKey<C extends Component> {
         if (!CcaBootstrap.INSTANCE.isGenerated(this.getClass())) throw new IllegalStateException();
         this.componentClass = componentClass;
         this.id = id;
+        this.rawId = nextRawId.getAndIncrement();
+    }
+
+    /**
+     * {@return a dense numeric id for this key, only valid for the current game session}
+     */
+    @ApiStatus.Internal
+    public final int getRawId() {
+        return this.rawId;
     }
 
     /**
@@ -26,9 +26,13 @@ import io.netty.buffer.ByteBuf;
 import net.minecraft.network.RegistryByteBuf;
 import net.minecraft.network.packet.CustomPayload;
 import net.minecraft.server.network.ServerPlayerEntity;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
+import org.ladysnake.cca.api.v3.component.sync.ComponentPacketWriter;
 import org.ladysnake.cca.api.v3.component.sync.PlayerSyncPredicate;
+import org.ladysnake.cca.api.v3.component.sync.SyncInterest;
+import org.ladysnake.cca.api.v3.component.sync.SyncRecipientVisitor;
 import org.ladysnake.cca.internal.base.ComponentUpdatePayload;
 
 import java.util.List;
@@ -59,6 +63,41 @@ public interface ComponentProvider extends ComponentAccess {
         return List.of();
     }
 
+    /**
+     * Visits every player who may receive component sync packets from this provider.
+     *
+     * <p>This is equivalent to iterating over {@link #getRecipientsForComponentSync()}, but lets providers
+     * walk their underlying player collections directly instead of creating a new one for every sync.
+     * Providers overriding one of these methods should override both.
+     *
+     * @param visitor   the action to perform for each player candidate
+     * @param key       the key of the synced component, passed to {@code visitor}
+     * @param writer    the writer for the sync packet, passed to {@code visitor}
+     * @param predicate the predicate for which players should receive the packet, passed to {@code visitor}
+     * @see #getRecipientsForComponentSync()
+     * @since 6.3.0
+     */
+    default void forEachSyncRecipient(SyncRecipientVisitor visitor, ComponentKey<?> key, ComponentPacketWriter writer, PlayerSyncPredicate predicate) {
+        for (ServerPlayerEntity player : this.getRecipientsForComponentSync()) {
+            visitor.visit(player, key, this, writer, predicate);
+        }
+    }
+
+    /**
+     * Computes the squared distance between this provider and a player, for the purpose of {@linkplain SyncInterest sync interest management}.
+     *
+     * <p>Providers without a position in the world should keep the default implementation,
+     * which puts every player as close as possible.
+     *
+     * @param player a player who may receive component sync packets from this provider
+     * @return the squared distance between {@code player} and this provider
+     * @since 6.3.0
+     */
+    @ApiStatus.Experimental
+    default double getSquaredSyncDistance(ServerPlayerEntity player) {
+        return 0.0;
+    }
+
     /**
      * Produces a sync packet using the given information.
      *
@@ -0,0 +1,225 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.api.v3.component;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.ladysnake.cca.internal.base.ComponentKeySet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * A view over the component providers that have every component in a given set of keys.
+ *
+ * <p>Queries let system-style passes go over many providers at once, for example every entity in a world:
+ * <pre>{@code
+ * private static final ComponentQuery.Of2<ManaComponent, FactionComponent> QUERY = ComponentQuery.of(MANA, FACTION);
+ *
+ * QUERY.forEach(world.iterateEntities(), (entity, mana, faction) -> ...);
+ * }</pre>
+ *
+ * <p>Providers are matched using the key set of their component container, which is computed once per container class,
+ * and matching components are retrieved directly from the container.
+ * Queries are immutable, and should be created once and stored.
+ *
+ * @since 6.3.0
+ */
+@ApiStatus.Experimental
+public abstract sealed class ComponentQuery permits ComponentQuery.Of1, ComponentQuery.Of2, ComponentQuery.Of3 {
+    private final ComponentKeySet keys;
+    private final boolean threadSafe;
+
+    private ComponentQuery(ComponentKey<?>... keys) {
+        this.keys = ComponentKeySet.of(List.of(keys));
+        boolean threadSafe = true;
+        for (ComponentKey<?> key : keys) {
+            threadSafe &= ThreadSafeComponent.class.isAssignableFrom(key.getComponentClass());
+        }
+        this.threadSafe = threadSafe;
+    }
+
+    public static <A extends Component> Of1<A> of(ComponentKey<A> a) {
+        return new Of1<>(a);
+    }
+
+    public static <A extends Component, B extends Component> Of2<A, B> of(ComponentKey<A> a, ComponentKey<B> b) {
+        return new Of2<>(a, b);
+    }
+
+    public static <A extends Component, B extends Component, C extends Component> Of3<A, B, C> of(ComponentKey<A> a, ComponentKey<B> b, ComponentKey<C> c) {
+        return new Of3<>(a, b, c);
+    }
+
+    /**
+     * {@return {@code true} if {@code provider} has every component of this query}
+     */
+    public boolean matches(Object provider) {
+        return provider instanceof ComponentProvider p && this.matches(p.getComponentContainer());
+    }
+
+    /**
+     * {@return {@code true} if {@code container} holds every component of this query}
+     */
+    public boolean matches(ComponentContainer container) {
+        return container.keys().containsAll(this.keys);
+    }
+
+    /**
+     * {@return {@code true} if every component type of this query is a {@link ThreadSafeComponent}}
+     */
+    public boolean isThreadSafe() {
+        return this.threadSafe;
+    }
+
+    <P> List<P> collectMatching(Iterable<P> providers) {
+        if (!this.threadSafe) {
+            throw new IllegalStateException("Parallel queries require every component type to implement ThreadSafeComponent");
+        }
+        List<P> matching = new ArrayList<>();
+        for (P provider : providers) {
+            if (this.matches(provider)) matching.add(provider);
+        }
+        return matching;
+    }
+
+    private static ComponentContainer container(Object provider) {
+        return ((ComponentProvider) provider).getComponentContainer();
+    }
+
+    public static final class Of1<A extends Component> extends ComponentQuery {
+        private final ComponentKey<A> a;
+
+        private Of1(ComponentKey<A> a) {
+            super(a);
+            this.a = a;
+        }
+
+        /**
+         * Performs an action for every provider in {@code providers} that matches this query.
+         */
+        public <P> void forEach(Iterable<P> providers, BiConsumer<? super P, ? super A> action) {
+            for (P provider : providers) {
+                if (this.matches(provider)) {
+                    action.accept(provider, this.a.getInternal(container(provider)));
+                }
+            }
+        }
+
+        /**
+         * Performs an action in parallel for every provider in {@code providers} that matches this query.
+         *
+         * <p>Matching providers are collected on the calling thread, and the action is then run on the common fork-join pool.
+         * The action must not touch any other state that is not thread-safe.
+         *
+         * @throws IllegalStateException if this query is not {@linkplain #isThreadSafe() thread-safe}
+         */
+        public <P> void parallelForEach(Iterable<P> providers, BiConsumer<? super P, ? super A> action) {
+            this.collectMatching(providers).parallelStream().forEach(provider -> action.accept(provider, this.a.getInternal(container(provider))));
+        }
+    }
+
+    public static final class Of2<A extends Component, B extends Component> extends ComponentQuery {
+        private final ComponentKey<A> a;
+        private final ComponentKey<B> b;
+
+        private Of2(ComponentKey<A> a, ComponentKey<B> b) {
+            super(a, b);
+            this.a = a;
+            this.b = b;
+        }
+
+        /**
+         * Performs an action for every provider in {@code providers} that matches this query.
+         */
+        public <P> void forEach(Iterable<P> providers, Action2<? super P, ? super A, ? super B> action) {
+            for (P provider : providers) {
+                if (this.matches(provider)) {
+                    ComponentContainer container = container(provider);
+                    action.accept(provider, this.a.getInternal(container), this.b.getInternal(container));
+                }
+            }
+        }
+
+        /**
+         * Performs an action in parallel for every provider in {@code providers} that matches this query.
+         *
+         * @throws IllegalStateException if this query is not {@linkplain #isThreadSafe() thread-safe}
+         * @see Of1#parallelForEach(Iterable, BiConsumer)
+         */
+        public <P> void parallelForEach(Iterable<P> providers, Action2<? super P, ? super A, ? super B> action) {
+            this.collectMatching(providers).parallelStream().forEach(provider -> {
+                ComponentContainer container = container(provider);
+                action.accept(provider, this.a.getInternal(container), this.b.getInternal(container));
+            });
+        }
+    }
+
+    public static final class Of3<A extends Component, B extends Component, C extends Component> extends ComponentQuery {
+        private final ComponentKey<A> a;
+        private final ComponentKey<B> b;
+        private final ComponentKey<C> c;
+
+        private Of3(ComponentKey<A> a, ComponentKey<B> b, ComponentKey<C> c) {
+            super(a, b, c);
+            this.a = a;
+            this.b = b;
+            this.c = c;
+        }
+
+        /**
+         * Performs an action for every provider in {@code providers} that matches this query.
+         */
+        public <P> void forEach(Iterable<P> providers, Action3<? super P, ? super A, ? super B, ? super C> action) {
+            for (P provider : providers) {
+                if (this.matches(provider)) {
+                    ComponentContainer container = container(provider);
+                    action.accept(provider, this.a.getInternal(container), this.b.getInternal(container), this.c.getInternal(container));
+                }
+            }
+        }
+
+        /**
+         * Performs an action in parallel for every provider in {@code providers} that matches this query.
+         *
+         * @throws IllegalStateException if this query is not {@linkplain #isThreadSafe() thread-safe}
+         * @see Of1#parallelForEach(Iterable, BiConsumer)
+         */
+        public <P> void parallelForEach(Iterable<P> providers, Action3<? super P, ? super A, ? super B, ? super C> action) {
+            this.collectMatching(providers).parallelStream().forEach(provider -> {
+                ComponentContainer container = container(provider);
+                action.accept(provider, this.a.getInternal(container), this.b.getInternal(container), this.c.getInternal(container));
+            });
+        }
+    }
+
+    @FunctionalInterface
+    public interface Action2<P, A, B> {
+        void accept(P provider, A a, B b);
+    }
+
+    @FunctionalInterface
+    public interface Action3<P, A, B, C> {
+        void accept(P provider, A a, B b, C c);
+    }
+}
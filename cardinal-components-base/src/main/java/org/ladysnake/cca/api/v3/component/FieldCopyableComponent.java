@@ -0,0 +1,55 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.api.v3.component;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryWrapper;
+import org.jetbrains.annotations.ApiStatus;
+import org.ladysnake.cca.internal.base.ComponentFieldCopier;
+
+/**
+ * A component that copies its data by assigning its fields directly from another component of the same class.
+ *
+ * <p>Every non-static, non-final and non-transient field declared by the component's class and its superclasses
+ * gets copied as-is, without going through {@link NbtCompound} serialization. Final fields are left untouched,
+ * which makes them suitable for references to the component's provider. Implementations must only store
+ * values that can be safely shared between two components in their copied fields, such as primitives
+ * and immutable objects.
+ *
+ * <p>If the other component is of a different class, data is copied using NBT serialization instead.
+ *
+ * @param <C> the type of components that this component may copy
+ * @since 6.3.0
+ */
+@ApiStatus.Experimental
+public interface FieldCopyableComponent<C extends Component> extends CopyableComponent<C> {
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The default implementation copies the value of each eligible field from {@code other} into {@code this}.
+     */
+    @Override
+    default void copyFrom(C other, RegistryWrapper.WrapperLookup registryLookup) {
+        ComponentFieldCopier.copy(other, this, registryLookup);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.api.v3.component;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryWrapper;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A component that can have its saved data decoded into an immutable snapshot off the main thread, so that loading it is cheap.
+ *
+ * <p>When a provider supporting asynchronous loading gets loaded, the {@linkplain ComponentKey#setSnapshotDecoder(Decoder) decoder}
+ * set on the component's key turns the component's NBT data into a snapshot on a worker thread. {@link #applySnapshot(Object)}
+ * then gets called on the main thread, instead of {@link Component#readFromNbt(NbtCompound, RegistryWrapper.WrapperLookup)}.
+ * Components that do not implement this interface, or whose key has no decoder, keep being deserialized on the main thread.
+ *
+ * <p>Currently, chunk components are the only ones loaded this way.
+ *
+ * @param <S> the type of snapshots produced by the decoder
+ * @see SnapshotSerializableComponent
+ * @since 6.3.0
+ */
+@ApiStatus.Experimental
+public interface SnapshotDeserializableComponent<S> extends Component {
+    /**
+     * Replaces the data of this component with a decoded snapshot.
+     *
+     * <p>This method is called on the main thread, and should be as cheap as possible.
+     *
+     * @param snapshot the snapshot produced by the key's decoder
+     */
+    void applySnapshot(S snapshot);
+
+    /**
+     * Decodes the saved data of components into snapshots.
+     */
+    @FunctionalInterface
+    interface Decoder<S> {
+        /**
+         * Decodes data written by {@link Component#writeToNbt(NbtCompound, RegistryWrapper.WrapperLookup)}.
+         *
+         * <p>This method may be called from any thread, and must not access the component that will receive the snapshot.
+         *
+         * @return an immutable snapshot of the decoded data
+         */
+        S decode(NbtCompound tag, RegistryWrapper.WrapperLookup registryLookup);
+    }
+}
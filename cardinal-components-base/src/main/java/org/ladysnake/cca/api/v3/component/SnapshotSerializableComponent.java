@@ -0,0 +1,64 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.api.v3.component;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryWrapper;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A component that can capture its data into an immutable snapshot, so that it may be written to NBT off the main thread.
+ *
+ * <p>When a provider supporting asynchronous saving gets saved, it calls {@link #createSnapshot()} on the main thread,
+ * then calls {@link Snapshot#writeToNbt(NbtCompound, RegistryWrapper.WrapperLookup)} on a worker thread.
+ * Components that do not implement this interface keep being serialized on the main thread.
+ *
+ * <p>Currently, chunk components are the only ones saved this way.
+ *
+ * @since 6.3.0
+ */
+@ApiStatus.Experimental
+public interface SnapshotSerializableComponent extends Component {
+    /**
+     * Captures the current data of this component.
+     *
+     * <p>This method is called on the main thread, and should be as cheap as possible.
+     * The returned snapshot must not be affected by any later change to this component.
+     *
+     * @return an immutable snapshot of this component's data
+     */
+    Snapshot createSnapshot();
+
+    /**
+     * An immutable view of a component's data at a given time.
+     */
+    @FunctionalInterface
+    interface Snapshot {
+        /**
+         * Writes the captured data to {@code tag}, using the same format as {@link Component#writeToNbt(NbtCompound, RegistryWrapper.WrapperLookup)}.
+         *
+         * <p>This method may be called from any thread.
+         */
+        void writeToNbt(NbtCompound tag, RegistryWrapper.WrapperLookup registryLookup);
+    }
+}
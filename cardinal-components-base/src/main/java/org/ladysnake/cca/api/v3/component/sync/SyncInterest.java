@@ -0,0 +1,142 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.api.v3.component.sync;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+
+import java.util.Arrays;
+
+/**
+ * Describes which players should receive updates of a synced component, and how often, depending on their distance
+ * to the component's provider.
+ *
+ * <p>Interest only applies to updates broadcast through {@link org.ladysnake.cca.api.v3.component.ComponentKey#sync(Object)}
+ * and its overloads. Players within {@linkplain #withinRadius(double) the maximum radius} and closer than every
+ * {@linkplain #throttledBeyond(double, int) throttling distance} get updates right away. Players further away than
+ * a throttling distance get at most one update every {@code intervalTicks}, and players beyond the maximum radius
+ * get no updates until they come closer. Updates held back this way get coalesced, then sent as a full sync
+ * using the component's own {@link AutoSyncedComponent#writeSyncPacket} and {@link AutoSyncedComponent#shouldSyncWith}.
+ *
+ * <p>Distances are computed with {@link org.ladysnake.cca.api.v3.component.ComponentProvider#getSquaredSyncDistance},
+ * which is always {@code 0} for providers without a position, like worlds or scoreboards.
+ *
+ * <p>Example, for a cosmetic entity component:
+ * <pre>{@code
+ * MY_KEY.setSyncInterest(SyncInterest.withinRadius(64).throttledBeyond(24, 10));
+ * }</pre>
+ *
+ * @see org.ladysnake.cca.api.v3.component.ComponentKey#setSyncInterest(SyncInterest)
+ * @since 6.3.0
+ */
+@ApiStatus.Experimental
+public final class SyncInterest {
+    /**
+     * Interest covering every recipient, with no throttling. This is the default for every key.
+     */
+    public static final SyncInterest UNLIMITED = new SyncInterest(Double.POSITIVE_INFINITY, new double[0], new int[0]);
+
+    private final double maxSquaredRadius;
+    private final double[] squaredTierDistances;
+    private final int[] tierIntervals;
+
+    private SyncInterest(double maxSquaredRadius, double[] squaredTierDistances, int[] tierIntervals) {
+        this.maxSquaredRadius = maxSquaredRadius;
+        this.squaredTierDistances = squaredTierDistances;
+        this.tierIntervals = tierIntervals;
+    }
+
+    /**
+     * @param radius the maximum distance, in blocks, at which players receive updates
+     * @return interest covering every recipient within {@code radius} blocks, with no throttling
+     * @throws IllegalArgumentException if {@code radius} is not strictly positive
+     */
+    @Contract(pure = true)
+    public static SyncInterest withinRadius(double radius) {
+        if (!(radius > 0)) throw new IllegalArgumentException("Sync radius must be positive, got " + radius);
+        return new SyncInterest(radius * radius, new double[0], new int[0]);
+    }
+
+    /**
+     * Returns a copy of this interest where players further than {@code distance} blocks
+     * get at most one update every {@code intervalTicks}.
+     *
+     * <p>Throttling tiers may be chained; a player gets the interval of the furthest tier they are beyond.
+     *
+     * @param distance      the distance, in blocks, beyond which updates get throttled
+     * @param intervalTicks the minimum amount of ticks between two updates sent to players beyond {@code distance}
+     * @return a new {@code SyncInterest} with the additional tier
+     * @throws IllegalArgumentException if {@code distance} is negative or outside of the maximum radius,
+     *                                  if {@code intervalTicks} is not strictly positive, or if a tier already uses the same distance
+     */
+    @Contract(pure = true)
+    public SyncInterest throttledBeyond(double distance, int intervalTicks) {
+        if (!(distance >= 0) || distance * distance >= this.maxSquaredRadius) throw new IllegalArgumentException("Throttling distance must be within the sync radius, got " + distance);
+        if (intervalTicks < 1) throw new IllegalArgumentException("Sync interval must be positive, got " + intervalTicks);
+        double squaredDistance = distance * distance;
+        int index = Arrays.binarySearch(this.squaredTierDistances, squaredDistance);
+        if (index >= 0) throw new IllegalArgumentException("Duplicate throttling distance " + distance);
+        int insertion = -index - 1;
+        double[] distances = new double[this.squaredTierDistances.length + 1];
+        int[] intervals = new int[this.tierIntervals.length + 1];
+        System.arraycopy(this.squaredTierDistances, 0, distances, 0, insertion);
+        System.arraycopy(this.tierIntervals, 0, intervals, 0, insertion);
+        distances[insertion] = squaredDistance;
+        intervals[insertion] = intervalTicks;
+        System.arraycopy(this.squaredTierDistances, insertion, distances, insertion + 1, this.squaredTierDistances.length - insertion);
+        System.arraycopy(this.tierIntervals, insertion, intervals, insertion + 1, this.tierIntervals.length - insertion);
+        return new SyncInterest(this.maxSquaredRadius, distances, intervals);
+    }
+
+    /**
+     * @param squaredDistance the squared distance between a player and a component provider
+     * @return {@code true} if a player at that distance should receive updates at all
+     */
+    @Contract(pure = true)
+    public boolean isInRange(double squaredDistance) {
+        return squaredDistance <= this.maxSquaredRadius;
+    }
+
+    /**
+     * @param squaredDistance the squared distance between a player and a component provider
+     * @return the minimum amount of ticks between two updates sent to a player at that distance,
+     * {@code 1} meaning updates get sent right away
+     */
+    @Contract(pure = true)
+    public int getSyncInterval(double squaredDistance) {
+        int interval = 1;
+        for (int i = 0; i < this.squaredTierDistances.length && squaredDistance > this.squaredTierDistances[i]; i++) {
+            interval = this.tierIntervals[i];
+        }
+        return interval;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("SyncInterest[radius=").append(Math.sqrt(this.maxSquaredRadius));
+        for (int i = 0; i < this.squaredTierDistances.length; i++) {
+            sb.append(", beyond ").append(Math.sqrt(this.squaredTierDistances[i])).append(": every ").append(this.tierIntervals[i]).append(" ticks");
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.api.v3.component.sync;
+
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventFactory;
+import net.minecraft.server.MinecraftServer;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.List;
+
+/**
+ * Receives component sync traffic metrics, to forward them to an external monitoring system.
+ *
+ * <p>Listeners get called on the server thread once every second, with the traffic of the second that just ended.
+ * This requires the Fabric Lifecycle Events module.
+ *
+ * @since 6.3.0
+ */
+@ApiStatus.Experimental
+@FunctionalInterface
+public interface SyncMetricsExporter {
+    Event<SyncMetricsExporter> EVENT = EventFactory.createArrayBacked(SyncMetricsExporter.class, (server, samples) -> {}, listeners -> (server, samples) -> {
+        for (SyncMetricsExporter exporter : listeners) {
+            exporter.export(server, samples);
+        }
+    });
+
+    /**
+     * @param server  the server that sent the measured traffic
+     * @param samples the traffic of every key and provider type that had any during the last second
+     */
+    void export(MinecraftServer server, List<SyncMetricsSample> samples);
+}
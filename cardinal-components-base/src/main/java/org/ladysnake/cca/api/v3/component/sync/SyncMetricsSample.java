@@ -0,0 +1,49 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.api.v3.component.sync;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+
+/**
+ * Sync traffic caused by a single component key on a single type of provider, over some period of time.
+ *
+ * <p>An update is the sync data of a single component sent to a single player, either in its own packet or batched with others.
+ *
+ * @param key          the synced component key
+ * @param providerType a short name for the type of provider, like {@code "entity"} or {@code "chunk"}
+ * @param updates      the amount of updates that got sent
+ * @param bytes        the total size of the component data that got sent, in bytes
+ * @param suppressed   the amount of updates that were held back by a {@link SyncInterest} or {@link SyncRateLimit},
+ *                     or that could not be sent because the recipient's client could not handle them
+ * @param skipped      the amount of times an unchanged component was not resent to a player along with its provider's other updates,
+ *                     like chunk components on block updates
+ * @param skippedBytes an estimate of the component data that skipped resends would have sent, in bytes,
+ *                     based on the size of the latest update of the same key on the same type of provider
+ * @param encodeNanos  the time spent writing component data, in nanoseconds
+ * @see SyncMetricsExporter
+ * @since 6.3.0
+ */
+@ApiStatus.Experimental
+public record SyncMetricsSample(ComponentKey<?> key, String providerType, long updates, long bytes, long suppressed, long skipped, long skippedBytes, long encodeNanos) {
+}
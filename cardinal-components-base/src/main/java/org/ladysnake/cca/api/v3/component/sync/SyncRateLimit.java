@@ -0,0 +1,121 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.api.v3.component.sync;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+
+/**
+ * Limits how often updates of a synced component get sent to each player.
+ *
+ * <p>Rate limits only apply to updates broadcast through {@link org.ladysnake.cca.api.v3.component.ComponentKey#sync(Object)}
+ * and its overloads. The first update goes out right away; updates requested while a player is over the limit get coalesced,
+ * then sent as a single full sync using the component's own {@link AutoSyncedComponent#writeSyncPacket}
+ * and {@link AutoSyncedComponent#shouldSyncWith} once the limit allows it.
+ *
+ * <p>Example, for a component synced every tick:
+ * <pre>{@code
+ * MANA_KEY.setSyncRateLimit(SyncRateLimit.everyTicks(5).withMaxBytesPerSecond(2048));
+ * }</pre>
+ *
+ * @see org.ladysnake.cca.api.v3.component.ComponentKey#setSyncRateLimit(SyncRateLimit)
+ * @since 6.3.0
+ */
+@ApiStatus.Experimental
+public final class SyncRateLimit {
+    /**
+     * No rate limit. This is the default for every key.
+     */
+    public static final SyncRateLimit NONE = new SyncRateLimit(1, 0);
+
+    private final int minInterval;
+    private final int maxBytesPerSecond;
+
+    private SyncRateLimit(int minInterval, int maxBytesPerSecond) {
+        this.minInterval = minInterval;
+        this.maxBytesPerSecond = maxBytesPerSecond;
+    }
+
+    /**
+     * @param ticks the minimum amount of ticks between two updates of the same component sent to the same player
+     * @return a rate limit sending at most one update every {@code ticks}, per provider and player
+     * @throws IllegalArgumentException if {@code ticks} is not strictly positive
+     */
+    @Contract(pure = true)
+    public static SyncRateLimit everyTicks(int ticks) {
+        if (ticks < 1) throw new IllegalArgumentException("Sync interval must be positive, got " + ticks);
+        return new SyncRateLimit(ticks, 0);
+    }
+
+    /**
+     * @param bytes the maximum average amount of update data sent to each player every second, across every provider of the component
+     * @return a rate limit capping the bandwidth used by the component's updates for each player
+     * @throws IllegalArgumentException if {@code bytes} is not strictly positive
+     */
+    @Contract(pure = true)
+    public static SyncRateLimit bytesPerSecond(int bytes) {
+        return NONE.withMaxBytesPerSecond(bytes);
+    }
+
+    /**
+     * @param bytes the maximum average amount of update data sent to each player every second, across every provider of the component
+     * @return a copy of this rate limit that also caps the bandwidth used by the component's updates for each player
+     * @throws IllegalArgumentException if {@code bytes} is not strictly positive
+     */
+    @Contract(pure = true)
+    public SyncRateLimit withMaxBytesPerSecond(int bytes) {
+        if (bytes < 1) throw new IllegalArgumentException("Byte rate must be positive, got " + bytes);
+        return new SyncRateLimit(this.minInterval, bytes);
+    }
+
+    /**
+     * {@return the minimum amount of ticks between two updates of the same component sent to the same player}
+     */
+    @Contract(pure = true)
+    public int getMinInterval() {
+        return this.minInterval;
+    }
+
+    /**
+     * {@return the maximum average amount of update data sent to each player every second, or {@code 0} if unlimited}
+     */
+    @Contract(pure = true)
+    public int getMaxBytesPerSecond() {
+        return this.maxBytesPerSecond;
+    }
+
+    /**
+     * @param bytes the size of an update that just got sent
+     * @return the amount of ticks the update uses up from a player's bandwidth budget
+     */
+    @Contract(pure = true)
+    public long getBudgetTicks(int bytes) {
+        if (this.maxBytesPerSecond == 0) return 0;
+        return ((long) bytes * 20 + this.maxBytesPerSecond - 1) / this.maxBytesPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "SyncRateLimit[interval=" + this.minInterval + ", bytesPerSecond=" + (this.maxBytesPerSecond == 0 ? "unlimited" : this.maxBytesPerSecond) + ']';
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.api.v3.component.sync;
+
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.api.v3.component.ComponentProvider;
+
+/**
+ * An action performed for every player who may receive a component sync packet.
+ *
+ * <p>Everything needed to sync the component gets passed along with the player, so that visitors can be
+ * method references or non-capturing lambdas, and visiting recipients allocates nothing.
+ *
+ * @see ComponentProvider#forEachSyncRecipient(SyncRecipientVisitor, ComponentKey, ComponentPacketWriter, PlayerSyncPredicate)
+ * @since 6.3.0
+ */
+@FunctionalInterface
+public interface SyncRecipientVisitor {
+    void visit(ServerPlayerEntity player, ComponentKey<?> key, ComponentProvider provider, ComponentPacketWriter writer, PlayerSyncPredicate predicate);
+}
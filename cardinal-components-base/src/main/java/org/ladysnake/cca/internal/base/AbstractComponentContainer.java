@@ -27,11 +27,13 @@ import net.minecraft.nbt.NbtElement;
 import net.minecraft.nbt.NbtList;
 import net.minecraft.registry.RegistryWrapper;
 import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
 import org.ladysnake.cca.api.v3.component.Component;
 import org.ladysnake.cca.api.v3.component.ComponentContainer;
 import org.ladysnake.cca.api.v3.component.ComponentKey;
 import org.ladysnake.cca.api.v3.component.ComponentRegistry;
 import org.ladysnake.cca.api.v3.component.CopyableComponent;
+import org.ladysnake.cca.internal.base.asm.CalledByAsm;
 
 import java.util.Iterator;
 
@@ -49,15 +51,8 @@ public abstract class AbstractComponentContainer implements ComponentContainer {
             Component ours = key.getInternal(this);
             assert ours != null;
 
-            if (theirs != null && !ours.equals(theirs)) {
-                if (ours instanceof CopyableComponent<?>) {
-                    @SuppressWarnings("unchecked") CopyableComponent<Component> copyable = (CopyableComponent<Component>) ours;
-                    copyable.copyFrom(theirs, registryLookup);
-                } else {
-                    NbtCompound tag = new NbtCompound();
-                    theirs.writeToNbt(tag, registryLookup);
-                    ours.readFromNbt(tag, registryLookup);
-                }
+            if (theirs != null) {
+                copyComponent(ours, theirs, registryLookup);
             }
         }
     }
@@ -74,33 +69,34 @@ public abstract class AbstractComponentContainer implements ComponentContainer {
      */
     @Override
     public void fromTag(NbtCompound tag, RegistryWrapper.WrapperLookup registryLookup) {
-        if(tag.contains(NBT_KEY, NbtElement.LIST_TYPE)) {
-            NbtList componentList = tag.getList(NBT_KEY, NbtElement.COMPOUND_TYPE);
-            for (int i = 0; i < componentList.size(); i++) {
-                NbtCompound nbt = componentList.getCompound(i);
-                ComponentKey<?> type = ComponentRegistry.get(Identifier.of(nbt.getString("componentId")));
-                if (type != null) {
-                    Component component = type.getInternal(this);
-                    if (component != null) {
-                        component.readFromNbt(nbt, registryLookup);
-                    }
-                }
-            }
-        } else if (tag.contains(NBT_KEY, NbtElement.COMPOUND_TYPE)) {
-            NbtCompound componentMap = tag.getCompound(NBT_KEY);
+        NbtCompound componentMap = getComponentMapForReading(this, tag, registryLookup);
 
+        if (componentMap != null) {
             for (ComponentKey<?> key : this.keys()) {
-                String keyId = key.getId().toString();
+                NbtCompound componentTag = takeComponentTag(componentMap, key.getId().toString());
 
-                if (componentMap.contains(keyId, NbtElement.COMPOUND_TYPE)) {
+                if (componentTag != null) {
                     Component component = key.getInternal(this);
                     assert component != null;
-                    component.readFromNbt(componentMap.getCompound(keyId), registryLookup);
-                    componentMap.remove(keyId);
+                    component.readFromNbt(componentTag, registryLookup);
                 }
             }
 
-            ComponentsInternals.logDeserializationWarnings(componentMap.getKeys());
+            finishReading(componentMap);
+        }
+    }
+
+    private void fromLegacyTag(NbtCompound tag, RegistryWrapper.WrapperLookup registryLookup) {
+        NbtList componentList = tag.getList(NBT_KEY, NbtElement.COMPOUND_TYPE);
+        for (int i = 0; i < componentList.size(); i++) {
+            NbtCompound nbt = componentList.getCompound(i);
+            ComponentKey<?> type = ComponentRegistry.get(Identifier.of(nbt.getString("componentId")));
+            if (type != null) {
+                Component component = type.getInternal(this);
+                if (component != null) {
+                    component.readFromNbt(nbt, registryLookup);
+                }
+            }
         }
     }
 
@@ -121,21 +117,102 @@ public abstract class AbstractComponentContainer implements ComponentContainer {
             NbtCompound componentTag = new NbtCompound();
 
             for (ComponentKey<?> type : this.keys()) {
-                Component component = type.getFromContainer(this);
-                component.writeToNbt(componentTag, registryLookup);
+                type.getFromContainer(this).writeToNbt(componentTag, registryLookup);
+                componentMap = putComponentTag(tag, componentMap, type.getId().toString(), componentTag);
+                componentTag = recycleComponentTag(componentTag);
+            }
+        }
+        return tag;
+    }
 
-                if (!componentTag.isEmpty()) {
-                    if (componentMap == null) {
-                        componentMap = new NbtCompound();
-                        tag.put(NBT_KEY, componentMap);
-                    }
+    /*
+     * The following helpers hold the parts of (de)serialization and copying that do not depend on a specific component.
+     * Generated containers call them with constant key ids and direct field reads instead of going through ComponentKey.
+     */
 
-                    componentMap.put(type.getId().toString(), componentTag);
-                    componentTag = new NbtCompound();   // recycle tag objects if possible
-                }
+    /**
+     * Copies the data of {@code theirs} into {@code ours}, unless both are the same object.
+     */
+    @CalledByAsm
+    public static void copyComponent(Component ours, Component theirs, RegistryWrapper.WrapperLookup registryLookup) {
+        if (ours != theirs) {
+            if (ours instanceof CopyableComponent<?>) {
+                @SuppressWarnings("unchecked") CopyableComponent<Component> copyable = (CopyableComponent<Component>) ours;
+                copyable.copyFrom(theirs, registryLookup);
+            } else {
+                NbtCompound tag = new NbtCompound();
+                theirs.writeToNbt(tag, registryLookup);
+                ours.readFromNbt(tag, registryLookup);
             }
         }
-        return tag;
+    }
+
+    /**
+     * Finds the serialized component map in {@code tag}.
+     *
+     * <p>If {@code tag} uses the legacy list format, it gets deserialized right away and {@code null} is returned.
+     *
+     * @return the component map to read from, or {@code null} if there is nothing left to read
+     */
+    @CalledByAsm
+    public static @Nullable NbtCompound getComponentMapForReading(AbstractComponentContainer container, NbtCompound tag, RegistryWrapper.WrapperLookup registryLookup) {
+        if (tag.contains(NBT_KEY, NbtElement.LIST_TYPE)) {
+            container.fromLegacyTag(tag, registryLookup);
+        } else if (tag.contains(NBT_KEY, NbtElement.COMPOUND_TYPE)) {
+            return tag.getCompound(NBT_KEY);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the serialized form of a component from a component map.
+     *
+     * @return the component's tag, or {@code null} if {@code componentMap} has no valid entry for {@code keyId}
+     */
+    @CalledByAsm
+    public static @Nullable NbtCompound takeComponentTag(NbtCompound componentMap, String keyId) {
+        if (componentMap.contains(keyId, NbtElement.COMPOUND_TYPE)) {
+            NbtCompound componentTag = componentMap.getCompound(keyId);
+            componentMap.remove(keyId);
+            return componentTag;
+        }
+        return null;
+    }
+
+    /**
+     * Reports the entries of a component map that were not consumed by {@link #takeComponentTag(NbtCompound, String)}.
+     */
+    @CalledByAsm
+    public static void finishReading(NbtCompound componentMap) {
+        ComponentsInternals.logDeserializationWarnings(componentMap.getKeys());
+    }
+
+    /**
+     * Adds a serialized component to {@code tag}'s component map, creating the map if needed.
+     * Empty component tags are skipped.
+     *
+     * @return the component map, or {@code null} if it has not been created yet
+     */
+    @CalledByAsm
+    public static @Nullable NbtCompound putComponentTag(NbtCompound tag, @Nullable NbtCompound componentMap, String keyId, NbtCompound componentTag) {
+        if (!componentTag.isEmpty()) {
+            if (componentMap == null) {
+                componentMap = new NbtCompound();
+                tag.put(NBT_KEY, componentMap);
+            }
+
+            componentMap.put(keyId, componentTag);
+        }
+        return componentMap;
+    }
+
+    /**
+     * Returns a tag to serialize the next component into, reusing {@code componentTag} if
+     * {@link #putComponentTag(NbtCompound, NbtCompound, String, NbtCompound)} skipped it.
+     */
+    @CalledByAsm
+    public static NbtCompound recycleComponentTag(NbtCompound componentTag) {
+        return componentTag.isEmpty() ? componentTag : new NbtCompound();
     }
 
     @Override
@@ -0,0 +1,172 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.server.world.ServerWorld;
+import org.jetbrains.annotations.Nullable;
+import org.ladysnake.cca.api.v3.component.Component;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.api.v3.component.ComponentProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Base implementation for live indexes of the loaded providers to which a given component is attached, in every server world.
+ *
+ * <p>Each world gets its own {@link WorldIndex}, which subclasses may organize however suits their region queries.
+ * Indexes are updated and queried on the server thread only.
+ *
+ * @param <P> the type of indexed providers
+ * @param <C> the type of indexed components
+ * @param <W> the type of per-world indexes
+ */
+public abstract class AbstractComponentIndex<P, C extends Component, W extends AbstractComponentIndex.WorldIndex<P>> {
+    private final ComponentKey<C> key;
+    private final Map<ServerWorld, W> worlds = new Reference2ObjectOpenHashMap<>();
+
+    protected AbstractComponentIndex(ComponentKey<C> key) {
+        this.key = key;
+    }
+
+    protected abstract W createWorldIndex();
+
+    protected @Nullable W getWorldIndex(ServerWorld world) {
+        return this.worlds.get(world);
+    }
+
+    public ComponentKey<C> getKey() {
+        return this.key;
+    }
+
+    public int size(ServerWorld world) {
+        W worldIndex = this.worlds.get(world);
+        return worldIndex == null ? 0 : worldIndex.size();
+    }
+
+    public void forEach(ServerWorld world, BiConsumer<? super P, ? super C> action) {
+        W worldIndex = this.worlds.get(world);
+        if (worldIndex == null) return;
+
+        for (P provider : worldIndex) {
+            action.accept(provider, this.key.get(provider));
+        }
+    }
+
+    private void add(P provider, ServerWorld world) {
+        this.worlds.computeIfAbsent(world, w -> this.createWorldIndex()).add(provider);
+    }
+
+    private void remove(P provider, ServerWorld world) {
+        W worldIndex = this.worlds.get(world);
+        if (worldIndex != null) {
+            worldIndex.remove(provider);
+        }
+    }
+
+    /**
+     * The providers indexed in a single world
+     */
+    public interface WorldIndex<P> extends Iterable<P> {
+        void add(P provider);
+
+        void remove(P provider);
+
+        int size();
+    }
+
+    /**
+     * Keeps track of every index for a given type of provider, and updates them when providers get loaded or unloaded.
+     *
+     * @param <P> the type of indexed providers
+     * @param <I> the type of indexes
+     */
+    public static final class Registry<P, I extends AbstractComponentIndex<P, ?, ?>> {
+        private final String providerName;
+        private final Function<ComponentKey<?>, I> factory;
+        private final Map<ComponentKey<?>, I> indexes = new Reference2ObjectOpenHashMap<>();
+        private volatile List<I> indexList = List.of();
+
+        /**
+         * @param providerName a human-readable name for the indexed providers, used in error messages
+         * @param factory      creates the index for a given key
+         */
+        public Registry(String providerName, Function<ComponentKey<?>, I> factory) {
+            this.providerName = providerName;
+            this.factory = factory;
+        }
+
+        /**
+         * Retrieves the index for the given key, creating it if it does not exist yet.
+         *
+         * @throws IllegalStateException if the Fabric Lifecycle Events API is not installed
+         */
+        public synchronized I get(ComponentKey<?> key) {
+            if (!FabricLoader.getInstance().isModLoaded("fabric-lifecycle-events-v1")) {
+                throw new IllegalStateException(this.providerName + " component indexes require the Fabric Lifecycle Events API");
+            }
+
+            I index = this.indexes.get(key);
+
+            if (index == null) {
+                index = this.factory.apply(key);
+                this.indexes.put(key, index);
+                List<I> list = new ArrayList<>(this.indexList);
+                list.add(index);
+                this.indexList = List.copyOf(list);
+            }
+
+            return index;
+        }
+
+        public void onLoad(P provider, ServerWorld world) {
+            List<I> list = this.indexList;
+            if (list.isEmpty()) return;
+
+            Set<ComponentKey<?>> keys = ((ComponentProvider) provider).getComponentContainer().keys();
+            for (AbstractComponentIndex<P, ?, ?> index : list) {
+                if (keys.contains(index.key)) {
+                    index.add(provider, world);
+                }
+            }
+        }
+
+        public void onUnload(P provider, ServerWorld world) {
+            for (AbstractComponentIndex<P, ?, ?> index : this.indexList) {
+                index.remove(provider, world);
+            }
+        }
+
+        public void onWorldUnload(ServerWorld world) {
+            for (AbstractComponentIndex<P, ?, ?> index : this.indexList) {
+                index.worlds.remove(world);
+            }
+        }
+    }
+}
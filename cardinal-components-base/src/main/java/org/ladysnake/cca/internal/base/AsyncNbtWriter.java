@@ -0,0 +1,114 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.util.Util;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Encodes, compresses and writes NBT files on the IO worker, so that saving large component data does not stall the server thread.
+ *
+ * <p>Writes to the same file happen in submission order. Each file is first written next to its destination, then moved
+ * over it, so that a crash mid-write never leaves a truncated file behind. {@link #flush()} waits for every pending
+ * write, and gets called when the server stops.
+ *
+ * <p>Without the Fabric Lifecycle Events module, nothing would wait for pending writes on shutdown, so files get written
+ * right away instead.
+ */
+public final class AsyncNbtWriter {
+    private static final boolean ASYNC = FabricLoader.getInstance().isModLoaded("fabric-lifecycle-events-v1");
+    private static final Map<Path, CompletableFuture<Void>> pendingWrites = new ConcurrentHashMap<>();
+
+    /**
+     * Schedules a write of the compound produced by {@code encoder} to {@code path}.
+     *
+     * @see #submit(Path, Supplier, Consumer)
+     */
+    public static void submit(Path path, Supplier<@Nullable NbtCompound> encoder) {
+        submit(path, encoder, nbt -> {});
+    }
+
+    /**
+     * Schedules a write of the compound produced by {@code encoder} to {@code path}.
+     *
+     * <p>The encoder runs on the IO worker, after any write previously submitted for the same path.
+     * It may return {@code null} to skip the write.
+     *
+     * @param path      the destination file
+     * @param encoder   a function producing the (uncompressed) compound to write, which must be safe to call from another thread
+     * @param onWritten a callback receiving the written compound once it is in place at {@code path}, not called if the write fails
+     */
+    public static void submit(Path path, Supplier<@Nullable NbtCompound> encoder, Consumer<NbtCompound> onWritten) {
+        if (!ASYNC) {
+            write(path, encoder, onWritten);
+            return;
+        }
+        CompletableFuture<Void> future = pendingWrites.compute(path, (p, previous) ->
+            (previous == null ? CompletableFuture.<Void>completedFuture(null) : previous)
+                .thenRunAsync(() -> write(p, encoder, onWritten), Util.getIoWorkerExecutor())
+        );
+        future.whenComplete((v, t) -> pendingWrites.remove(path, future));
+    }
+
+    /**
+     * Blocks until every write submitted so far is done.
+     */
+    public static void flush() {
+        CompletableFuture.allOf(pendingWrites.values().toArray(CompletableFuture[]::new)).join();
+    }
+
+    private static void write(Path path, Supplier<@Nullable NbtCompound> encoder, Consumer<NbtCompound> onWritten) {
+        try {
+            NbtCompound nbt = encoder.get();
+            if (nbt == null) return;
+
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.createDirectories(path.getParent());
+            NbtIo.writeCompressed(nbt, tmp);
+
+            try {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            onWritten.accept(nbt);
+        } catch (IOException | RuntimeException e) {
+            ComponentsInternals.LOGGER.error("Failed to save component data to {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import io.netty.buffer.Unpooled;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.network.PacketCallbacks;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+import org.ladysnake.cca.api.v3.component.Component;
+import org.ladysnake.cca.api.v3.component.ComponentContainer;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.api.v3.component.ComponentProvider;
+import org.ladysnake.cca.api.v3.component.ComponentRegistry;
+import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * A payload holding the sync data of several components attached to the same provider.
+ *
+ * @see ComponentUpdatePayload
+ */
+public record BatchedComponentUpdatePayload<T>(
+    Id<BatchedComponentUpdatePayload<T>> id,
+    T targetData,
+    List<Entry> entries
+) implements CustomPayload {
+    /**
+     * Batches get split before they hold more than this much component data, to stay well below the custom payload size limit
+     */
+    public static final int MAX_DATA_SIZE = 512 * 1024;
+
+    public static <T> CustomPayload.Id<BatchedComponentUpdatePayload<T>> id(String path) {
+        return new CustomPayload.Id<>(Identifier.of("cardinal-components", path));
+    }
+
+    public static <T> void register(Id<BatchedComponentUpdatePayload<T>> id, PacketCodec<? super RegistryByteBuf, T> targetDataCodec) {
+        PayloadTypeRegistry.playS2C().register(id, codec(id, targetDataCodec));
+    }
+
+    public static <T> PacketCodec<RegistryByteBuf, BatchedComponentUpdatePayload<T>> codec(Id<BatchedComponentUpdatePayload<T>> id, PacketCodec<? super RegistryByteBuf, T> targetDataCodec) {
+        return PacketCodec.tuple(
+            PacketCodec.unit(id), BatchedComponentUpdatePayload::id,
+            targetDataCodec, BatchedComponentUpdatePayload::targetData,
+            Entry.CODEC.collect(PacketCodecs.toList()), BatchedComponentUpdatePayload::entries,
+            BatchedComponentUpdatePayload::new
+        );
+    }
+
+    /**
+     * Writes the sync data of every {@link AutoSyncedComponent} in {@code keys} that should be synced with {@code player},
+     * and sends it in as many payloads as needed to keep each one under {@value #MAX_DATA_SIZE} bytes of component data.
+     *
+     * @return the number of bytes of component data that were sent
+     */
+    public static <T> int sync(Id<BatchedComponentUpdatePayload<T>> id, T targetData, ServerPlayerEntity player, ComponentProvider provider, Iterable<? extends ComponentKey<?>> keys) {
+        List<Entry> entries = collectEntries(player, provider, keys);
+
+        if (entries == null) {
+            return 0;
+        }
+
+        int size = dataSize(entries);
+        split(entries, entry -> entry.buf().readableBytes(), batch -> new BatchedComponentUpdatePayload<>(id, targetData, batch).send(player));
+        return size;
+    }
+
+    /**
+     * Writes the sync data of every {@link AutoSyncedComponent} in {@code keys} that should be synced with {@code player}.
+     *
+     * @return the written entries, or {@code null} if there is nothing to sync
+     */
+    public static @Nullable List<Entry> collectEntries(ServerPlayerEntity player, ComponentProvider provider, Iterable<? extends ComponentKey<?>> keys) {
+        ComponentContainer container = provider.getComponentContainer();
+        List<Entry> entries = null;
+
+        for (ComponentKey<?> key : keys) {
+            Component component = key.getInternal(container);
+
+            if (component instanceof AutoSyncedComponent synced && synced.shouldSyncWith(player)) {
+                long start = System.nanoTime();
+                RegistryByteBuf buf = new RegistryByteBuf(Unpooled.buffer(), player.getServerWorld().getRegistryManager());
+                synced.writeSyncPacket(buf, player);
+                SyncMetrics.recordUpdate(key, provider, buf.readableBytes(), System.nanoTime() - start);
+
+                if (entries == null) {
+                    entries = new ArrayList<>();
+                }
+
+                entries.add(new Entry(synced.isRequiredOnClient(), key.getId(), buf));
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * {@return the total size of the component data held by {@code entries}, in bytes}
+     */
+    public static int dataSize(List<Entry> entries) {
+        int size = 0;
+        for (Entry entry : entries) {
+            size += entry.buf().readableBytes();
+        }
+        return size;
+    }
+
+    /**
+     * Splits {@code items} into consecutive batches holding at most {@value #MAX_DATA_SIZE} bytes of component data each,
+     * except for batches made of a single item that is larger on its own.
+     *
+     * @param dataSize the size of the component data held by an item, in bytes
+     * @param sink     receives every batch, in order
+     */
+    public static <E> void split(List<E> items, ToIntFunction<? super E> dataSize, Consumer<List<E>> sink) {
+        List<E> batch = new ArrayList<>();
+        int batchSize = 0;
+
+        for (E item : items) {
+            int itemSize = dataSize.applyAsInt(item);
+
+            if (!batch.isEmpty() && batchSize + itemSize > MAX_DATA_SIZE) {
+                sink.accept(batch);
+                batch = new ArrayList<>();
+                batchSize = 0;
+            }
+
+            batch.add(item);
+            batchSize += itemSize;
+        }
+
+        if (!batch.isEmpty()) {
+            sink.accept(batch);
+        }
+    }
+
+    /**
+     * Sends this payload to {@code player}, taking ownership of the entries' buffers.
+     */
+    public void send(ServerPlayerEntity player) {
+        send(player, this, this.entries);
+    }
+
+    public void release() {
+        release(this.entries);
+    }
+
+    /**
+     * Sends a payload holding component sync data to {@code player}, taking ownership of the entries' buffers.
+     *
+     * @param entries every entry held by {@code payload}
+     */
+    public static void send(ServerPlayerEntity player, CustomPayload payload, List<Entry> entries) {
+        if (ServerPlayNetworking.canSend(player, payload.getId())) {
+            ServerPlayNetworking.getSender(player).sendPacket(payload, PacketCallbacks.always(() -> release(entries)));
+        } else {
+            for (Entry entry : entries) {
+                if (entry.required()) {
+                    String specificMod = FabricLoader.getInstance().getModContainer(entry.componentKeyId().getNamespace()).map(c -> c.getMetadata().getName() + " and ").orElse("");
+                    player.networkHandler.disconnect(Text.literal(
+                        "This server requires " + specificMod + "Cardinal Components API " +
+                            "(unhandled packet: " + payload.getId().id() + ")" +
+                            ComponentsInternals.getClientOptionalModAdvice()));
+                    break;
+                }
+            }
+            release(entries);
+        }
+    }
+
+    public static void release(List<Entry> entries) {
+        for (Entry entry : entries) {
+            entry.buf().release();
+        }
+    }
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return id;
+    }
+
+    public record Entry(boolean required, Identifier componentKeyId, RegistryByteBuf buf) {
+        public static final PacketCodec<RegistryByteBuf, Entry> CODEC = PacketCodec.ofStatic(
+            (buf, entry) -> {
+                buf.writeBoolean(entry.required());
+                Identifier.PACKET_CODEC.encode(buf, entry.componentKeyId());
+                SyncCompression.write(buf, entry.componentKeyId(), entry.buf());
+            },
+            buf -> {
+                boolean required = buf.readBoolean();
+                Identifier componentKeyId = Identifier.PACKET_CODEC.decode(buf);
+                return new Entry(required, componentKeyId, SyncCompression.read(buf, componentKeyId));
+            }
+        );
+
+        public Optional<ComponentKey<?>> componentKey() {
+            ComponentKey<?> key = ComponentRegistry.get(this.componentKeyId());
+            if (key == null && this.required()) {
+                throw new UnknownComponentException("Unknown component " + this.componentKeyId());
+            }
+            return Optional.ofNullable(key);
+        }
+    }
+}
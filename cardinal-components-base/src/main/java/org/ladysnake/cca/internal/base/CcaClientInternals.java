@@ -26,28 +26,103 @@ import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.minecraft.network.DisconnectionInfo;
 import net.minecraft.network.packet.CustomPayload;
 import net.minecraft.text.Text;
-import org.ladysnake.cca.api.v3.component.Component;
+import org.jetbrains.annotations.Nullable;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
 import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
 
-import java.util.Optional;
+import java.util.List;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
 public final class CcaClientInternals {
-    public static <T extends ComponentUpdatePayload<?>> void registerComponentSync(CustomPayload.Id<T> packetId, BiFunction<T, ClientPlayNetworking.Context, Optional<? extends Component>> getter) {
-        ClientPlayNetworking.registerGlobalReceiver(packetId, (payload, ctx) -> {
-            try {
-                getter.apply(payload, ctx).ifPresent(c -> {
-                    if (c instanceof AutoSyncedComponent synced) {
-                        synced.applySyncPacket(payload.buf());
-                    }
-                });
-            } catch (UnknownComponentException e) {
-                ctx.player().networkHandler.onDisconnected(new DisconnectionInfo(Text.literal(
-                    e.getMessage() + "\n(you are probably missing a mod installed on the server)" + ComponentsInternals.getClientOptionalModAdvice())
-                ));
-            } finally {
-                payload.buf().release();
+    /**
+     * @param resolver a function resolving the provider targeted by a payload, or {@code null} if it is not available
+     * @see ClientSyncQueue
+     */
+    public static <T extends ComponentUpdatePayload<?>> void registerComponentSync(CustomPayload.Id<T> packetId, BiFunction<T, ClientPlayNetworking.Context, @Nullable Object> resolver) {
+        registerComponentSync(packetId, resolver, null);
+    }
+
+    /**
+     * @param resolver  a function resolving the provider targeted by a payload, or {@code null} if it is not available
+     * @param bufferKey a function computing the key under which updates get held back if their target is not loaded yet,
+     *                  or {@code null} to drop such updates
+     * @see ClientSyncQueue#onTargetLoaded(Object, Object)
+     */
+    public static <T extends ComponentUpdatePayload<?>> void registerComponentSync(CustomPayload.Id<T> packetId, BiFunction<T, ClientPlayNetworking.Context, @Nullable Object> resolver, @Nullable Function<T, Object> bufferKey) {
+        ClientPlayNetworking.registerGlobalReceiver(packetId, (payload, ctx) -> ClientSyncQueue.receive(ctx, new SingleUpdate<>(payload, resolver, bufferKey)));
+    }
+
+    /**
+     * @param resolver a function resolving the provider targeted by a payload, or {@code null} if it is not available
+     * @see ClientSyncQueue
+     */
+    public static <T extends BatchedComponentUpdatePayload<?>> void registerBatchedComponentSync(CustomPayload.Id<T> packetId, BiFunction<T, ClientPlayNetworking.Context, @Nullable Object> resolver) {
+        ClientPlayNetworking.registerGlobalReceiver(packetId, (payload, ctx) -> ClientSyncQueue.receive(ctx, new BatchedUpdate<>(payload, resolver)));
+    }
+
+    /**
+     * Applies batched sync data to the components of a provider.
+     *
+     * @param provider the provider targeted by the sync data, or {@code null} if it is not available on this side
+     * @throws UnknownComponentException if an entry marked as required has an unknown component key
+     */
+    public static void applySyncData(@Nullable Object provider, List<BatchedComponentUpdatePayload.Entry> entries) {
+        for (BatchedComponentUpdatePayload.Entry entry : entries) {
+            ComponentKey<?> key = entry.componentKey().orElse(null);
+            if (key != null && provider != null && key.getNullable(provider) instanceof AutoSyncedComponent synced) {
+                synced.applySyncPacket(entry.buf());
+            }
+        }
+    }
+
+    private record SingleUpdate<T extends ComponentUpdatePayload<?>>(T payload, BiFunction<T, ClientPlayNetworking.Context, @Nullable Object> resolver, @Nullable Function<T, Object> bufferKeyFunction) implements ClientSyncQueue.Update {
+        @Override
+        public boolean apply(ClientPlayNetworking.Context ctx) {
+            ComponentKey<?> key = this.payload.componentKey().orElse(null);
+
+            if (key != null) {
+                Object provider = ClientSyncQueue.resolve(this.resolver, this.payload.targetData(), () -> this.resolver.apply(this.payload, ctx));
+
+                if (provider == null) {
+                    return false;
+                }
+
+                if (key.maybeGet(provider).orElse(null) instanceof AutoSyncedComponent synced) {
+                    synced.applySyncPacket(this.payload.buf());
+                }
             }
-        });
+
+            return true;
+        }
+
+        @Override
+        public @Nullable Object getBufferKey() {
+            return this.bufferKeyFunction == null ? null : this.bufferKeyFunction.apply(this.payload);
+        }
+
+        @Override
+        public void release() {
+            this.payload.buf().release();
+        }
+    }
+
+    private record BatchedUpdate<T extends BatchedComponentUpdatePayload<?>>(T payload, BiFunction<T, ClientPlayNetworking.Context, @Nullable Object> resolver) implements ClientSyncQueue.Update {
+        @Override
+        public boolean apply(ClientPlayNetworking.Context ctx) {
+            applySyncData(ClientSyncQueue.resolve(this.resolver, this.payload.targetData(), () -> this.resolver.apply(this.payload, ctx)), this.payload.entries());
+            return true;
+        }
+
+        @Override
+        public void release() {
+            this.payload.release();
+        }
+    }
+
+    public static void disconnect(ClientPlayNetworking.Context ctx, UnknownComponentException e) {
+        ctx.player().networkHandler.onDisconnected(new DisconnectionInfo(Text.literal(
+            e.getMessage() + "\n(you are probably missing a mod installed on the server)" + ComponentsInternals.getClientOptionalModAdvice())
+        ));
     }
 }
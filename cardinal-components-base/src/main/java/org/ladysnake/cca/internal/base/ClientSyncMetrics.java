@@ -0,0 +1,108 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+/**
+ * Keeps track of the time spent applying component updates on the client, over a rolling window of frames.
+ *
+ * <p>Only frames where at least one update got applied are recorded.
+ */
+public final class ClientSyncMetrics {
+    private final long[] frameNanos;
+    private final int[] frameUpdates;
+    private int next;
+    private int recorded;
+    private long totalUpdates;
+
+    public ClientSyncMetrics(int window) {
+        this.frameNanos = new long[window];
+        this.frameUpdates = new int[window];
+    }
+
+    public void record(int updates, long nanos) {
+        this.frameNanos[this.next] = nanos;
+        this.frameUpdates[this.next] = updates;
+        this.next = (this.next + 1) % this.frameNanos.length;
+        this.recorded = Math.min(this.recorded + 1, this.frameNanos.length);
+        this.totalUpdates += updates;
+    }
+
+    /**
+     * {@return the time spent applying updates during the last recorded frame, in nanoseconds}
+     */
+    public long getLastFrameNanos() {
+        return this.recorded == 0 ? 0 : this.frameNanos[(this.next + this.frameNanos.length - 1) % this.frameNanos.length];
+    }
+
+    /**
+     * {@return the average time spent applying updates per recorded frame in the window, in nanoseconds}
+     */
+    public long getAverageFrameNanos() {
+        if (this.recorded == 0) return 0;
+        long sum = 0;
+        for (int i = 0; i < this.recorded; i++) {
+            sum += this.frameNanos[i];
+        }
+        return sum / this.recorded;
+    }
+
+    /**
+     * {@return the longest time spent applying updates during a recorded frame in the window, in nanoseconds}
+     */
+    public long getMaxFrameNanos() {
+        long max = 0;
+        for (int i = 0; i < this.recorded; i++) {
+            max = Math.max(max, this.frameNanos[i]);
+        }
+        return max;
+    }
+
+    /**
+     * {@return the average amount of updates applied per recorded frame in the window}
+     */
+    public double getAverageFrameUpdates() {
+        if (this.recorded == 0) return 0;
+        long sum = 0;
+        for (int i = 0; i < this.recorded; i++) {
+            sum += this.frameUpdates[i];
+        }
+        return (double) sum / this.recorded;
+    }
+
+    /**
+     * {@return the amount of updates applied since the game started}
+     */
+    public long getTotalUpdates() {
+        return this.totalUpdates;
+    }
+
+    @Override
+    public String toString() {
+        return "CCA client sync: %.1f updates/frame, avg %.3f ms, max %.3f ms (last %d frames)".formatted(
+            this.getAverageFrameUpdates(),
+            this.getAverageFrameNanos() / 1_000_000.0,
+            this.getMaxFrameNanos() / 1_000_000.0,
+            this.recorded
+        );
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.minecraft.util.Util;
+import net.minecraft.util.profiler.Profiler;
+import net.minecraft.util.profiler.Profilers;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Applies component updates received from the server, caching target resolution across runs of consecutive updates.
+ *
+ * <p>Updates are applied as soon as they are received, so that they keep their order relative to vanilla and other mods' packets.
+ * Targets resolved while applying an update are reused by the following updates, until the client runs any other task
+ * (which may add or remove targets) or finishes processing tasks for the current frame.
+ *
+ * <p>Updates with a {@linkplain Update#getBufferKey() buffer key} whose target is not loaded yet get held back for a few seconds,
+ * and applied as soon as a target with the same key gets loaded through {@link #onTargetLoaded(Object, Object)}.
+ * At most {@value #MAX_BUFFERED_UPDATES} updates get held back at once, the oldest ones being dropped first.
+ * Held back updates get dropped when the client changes worlds.
+ *
+ * <p>Everything in here is only accessed from the client thread.
+ */
+public final class ClientSyncQueue {
+    public static final ClientSyncMetrics METRICS = new ClientSyncMetrics(100);
+    private static final Object MISSING = new Object();
+    private static final int MAX_BUFFERED_UPDATES = 512;
+    private static final long BUFFERED_UPDATE_TIMEOUT_MS = 5000;
+
+    private static final Map<Target, Object> resolvedTargets = new HashMap<>();
+    private static final Map<Object, List<BufferedUpdate>> bufferedByTarget = new HashMap<>();
+    private static final ArrayDeque<BufferedUpdate> bufferedInOrder = new ArrayDeque<>();
+    private static int bufferedCount;
+    private static int tasksRun;
+    private static int lastUpdateTask = -2;
+    private static int frameUpdates;
+    private static long frameNanos;
+    private static @Nullable Object currentWorld;
+
+    public static void receive(ClientPlayNetworking.Context ctx, Update update) {
+        receive(ctx, ctx.client().world, update);
+    }
+
+    static void receive(ClientPlayNetworking.Context ctx, @Nullable Object world, Update update) {
+        // any other task that ran since the last update may have added or removed targets
+        if (tasksRun - lastUpdateTask > 1) {
+            resolvedTargets.clear();
+        }
+        lastUpdateTask = tasksRun;
+
+        Profiler profiler = Profilers.get();
+        profiler.push("cardinal_components_sync");
+        long start = System.nanoTime();
+        boolean buffered = false;
+
+        try {
+            if (world != null && !update.apply(ctx)) {
+                buffered = bufferUpdate(new QueuedUpdate(ctx, world, update));
+            }
+        } catch (UnknownComponentException e) {
+            CcaClientInternals.disconnect(ctx, e);
+        } finally {
+            if (!buffered) {
+                update.release();
+            }
+
+            frameUpdates++;
+            frameNanos += System.nanoTime() - start;
+            profiler.pop();
+        }
+    }
+
+    /**
+     * Called before the client runs any of its queued tasks, including packet handlers.
+     */
+    public static void onClientTask() {
+        tasksRun++;
+    }
+
+    /**
+     * Resolves the provider targeted by an update, reusing earlier resolutions made by consecutive updates.
+     *
+     * @param resolver   an object identifying the kind of target, typically the resolving function itself
+     * @param targetData the data identifying the target among others of its kind
+     * @param lookup     the actual lookup, only called on the first resolution of a run
+     * @return the resolved provider, or {@code null} if it is not available
+     */
+    public static @Nullable Object resolve(Object resolver, Object targetData, Supplier<@Nullable Object> lookup) {
+        Target target = new Target(resolver, targetData);
+        Object resolved = resolvedTargets.get(target);
+
+        if (resolved == null) {
+            resolved = lookup.get();
+            resolvedTargets.put(target, resolved == null ? MISSING : resolved);
+        }
+
+        return resolved == MISSING ? null : resolved;
+    }
+
+    /**
+     * Called once the client is done running its queued tasks for the current frame.
+     *
+     * @param world the client's current world
+     */
+    public static void endFrame(@Nullable Object world) {
+        resolvedTargets.clear();
+
+        if (world != currentWorld) {
+            currentWorld = world;
+            dropBufferedUpdatesOutside(world);
+        }
+
+        expireBufferedUpdates(Util.getMeasuringTimeMs());
+
+        if (frameUpdates > 0) {
+            METRICS.record(frameUpdates, frameNanos);
+            frameUpdates = 0;
+            frameNanos = 0;
+        }
+    }
+
+    private static boolean bufferUpdate(QueuedUpdate queued) {
+        Object key = queued.update().getBufferKey();
+        if (key == null) return false;
+
+        if (bufferedCount >= MAX_BUFFERED_UPDATES) {
+            dropOldestBufferedUpdate();
+        }
+
+        BufferedUpdate buffered = new BufferedUpdate(key, queued, Util.getMeasuringTimeMs());
+        bufferedByTarget.computeIfAbsent(key, k -> new ArrayList<>(2)).add(buffered);
+        bufferedInOrder.addLast(buffered);
+        bufferedCount++;
+        return true;
+    }
+
+    /**
+     * Applies the updates that got held back because no target with the given key was loaded.
+     *
+     * @param key   the buffer key of the target that just got loaded
+     * @param world the world in which the target got loaded
+     */
+    public static void onTargetLoaded(Object key, Object world) {
+        List<BufferedUpdate> updates = bufferedByTarget.remove(key);
+        if (updates == null) return;
+
+        // the target was missing until now, so earlier resolutions are stale
+        resolvedTargets.clear();
+
+        for (BufferedUpdate buffered : updates) {
+            QueuedUpdate queued = buffered.queued;
+            buffered.done = true;
+            bufferedCount--;
+
+            try {
+                if (queued.world() == world) {
+                    queued.update().apply(queued.ctx());
+                }
+            } finally {
+                queued.update().release();
+            }
+        }
+    }
+
+    private static void dropBufferedUpdatesOutside(@Nullable Object world) {
+        for (Iterator<List<BufferedUpdate>> it = bufferedByTarget.values().iterator(); it.hasNext(); ) {
+            List<BufferedUpdate> updates = it.next();
+
+            updates.removeIf(buffered -> {
+                if (buffered.queued.world() != world) {
+                    buffered.done = true;
+                    bufferedCount--;
+                    buffered.queued.update().release();
+                    return true;
+                }
+                return false;
+            });
+
+            if (updates.isEmpty()) it.remove();
+        }
+    }
+
+    private static void expireBufferedUpdates(long now) {
+        BufferedUpdate oldest;
+
+        while ((oldest = bufferedInOrder.peekFirst()) != null) {
+            if (oldest.done) {
+                bufferedInOrder.pollFirst();
+            } else if (now - oldest.time >= BUFFERED_UPDATE_TIMEOUT_MS) {
+                dropOldestBufferedUpdate();
+            } else {
+                break;
+            }
+        }
+    }
+
+    private static void dropOldestBufferedUpdate() {
+        BufferedUpdate oldest;
+
+        do {
+            oldest = bufferedInOrder.pollFirst();
+        } while (oldest != null && oldest.done);   // skip updates that already got applied
+
+        if (oldest != null) {
+            List<BufferedUpdate> updates = bufferedByTarget.get(oldest.key);
+            updates.remove(oldest);
+            if (updates.isEmpty()) bufferedByTarget.remove(oldest.key);
+            oldest.done = true;
+            bufferedCount--;
+            oldest.queued.update().release();
+        }
+    }
+
+    /**
+     * A component update received from the server, holding onto its buffers until {@link #release()} gets called.
+     */
+    public interface Update {
+        /**
+         * @return {@code false} if the update's target could not be found, {@code true} otherwise
+         * @throws UnknownComponentException if the update targets a required component that is unknown to the client
+         */
+        boolean apply(ClientPlayNetworking.Context ctx);
+
+        /**
+         * {@return a key identifying this update's target until it gets loaded, or {@code null} if this update should not be held back}
+         */
+        default @Nullable Object getBufferKey() {
+            return null;
+        }
+
+        void release();
+    }
+
+    private record QueuedUpdate(ClientPlayNetworking.Context ctx, Object world, Update update) {}
+
+    private record Target(Object resolver, Object targetData) {}
+
+    private static final class BufferedUpdate {
+        final Object key;
+        final QueuedUpdate queued;
+        final long time;
+        boolean done;
+
+        BufferedUpdate(Object key, QueuedUpdate queued, long time) {
+            this.key = key;
+            this.queued = queued;
+            this.time = time;
+        }
+    }
+}
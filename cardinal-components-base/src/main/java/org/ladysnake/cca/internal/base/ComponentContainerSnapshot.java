@@ -0,0 +1,95 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryWrapper;
+import org.ladysnake.cca.api.v3.component.Component;
+import org.ladysnake.cca.api.v3.component.ComponentContainer;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.api.v3.component.SnapshotSerializableComponent;
+
+/**
+ * The data of a {@link ComponentContainer} captured on the main thread, which can be written to NBT from any thread.
+ *
+ * <p>{@link SnapshotSerializableComponent}s only have their snapshot taken during capture, while other components
+ * get serialized right away.
+ */
+public final class ComponentContainerSnapshot {
+    private final String[] keyIds;
+    /**
+     * Either a {@link SnapshotSerializableComponent.Snapshot} or an already serialized {@link NbtCompound}
+     */
+    private final Object[] data;
+    private final RegistryWrapper.WrapperLookup registryLookup;
+
+    private ComponentContainerSnapshot(String[] keyIds, Object[] data, RegistryWrapper.WrapperLookup registryLookup) {
+        this.keyIds = keyIds;
+        this.data = data;
+        this.registryLookup = registryLookup;
+    }
+
+    public static ComponentContainerSnapshot capture(ComponentContainer container, RegistryWrapper.WrapperLookup registryLookup) {
+        int size = container.keys().size();
+        String[] keyIds = new String[size];
+        Object[] data = new Object[size];
+        int i = 0;
+
+        for (ComponentKey<?> key : container.keys()) {
+            Component component = key.getFromContainer(container);
+            keyIds[i] = key.getId().toString();
+
+            if (component instanceof SnapshotSerializableComponent snapshotSerializable) {
+                data[i] = snapshotSerializable.createSnapshot();
+            } else {
+                NbtCompound componentTag = new NbtCompound();
+                component.writeToNbt(componentTag, registryLookup);
+                data[i] = componentTag;
+            }
+            i++;
+        }
+
+        return new ComponentContainerSnapshot(keyIds, data, registryLookup);
+    }
+
+    /**
+     * Writes the captured data to {@code tag}, in the same format as {@link ComponentContainer#toTag(NbtCompound, RegistryWrapper.WrapperLookup)}.
+     */
+    public NbtCompound toTag(NbtCompound tag) {
+        NbtCompound componentMap = null;
+
+        for (int i = 0; i < this.keyIds.length; i++) {
+            NbtCompound componentTag;
+
+            if (this.data[i] instanceof SnapshotSerializableComponent.Snapshot snapshot) {
+                componentTag = new NbtCompound();
+                snapshot.writeToNbt(componentTag, this.registryLookup);
+            } else {
+                componentTag = (NbtCompound) this.data[i];
+            }
+
+            componentMap = AbstractComponentContainer.putComponentTag(tag, componentMap, this.keyIds[i], componentTag);
+        }
+        return tag;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryWrapper;
+import org.ladysnake.cca.api.v3.component.Component;
+import org.ladysnake.cca.api.v3.component.FieldCopyableComponent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Builds and caches the field copiers backing {@link FieldCopyableComponent}.
+ */
+public final class ComponentFieldCopier {
+    private static final MethodType COPIER_TYPE = MethodType.methodType(void.class, Component.class, Component.class);
+    private static final ClassValue<MethodHandle> COPIERS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return createCopier(type);
+        }
+    };
+
+    public static void copy(Component from, Component to, RegistryWrapper.WrapperLookup registryLookup) {
+        if (from.getClass() == to.getClass()) {
+            try {
+                COPIERS.get(to.getClass()).invokeExact(from, to);
+            } catch (Throwable t) {
+                throw new IllegalStateException("Failed to copy fields from " + from + " to " + to, t);
+            }
+        } else {
+            NbtCompound tag = new NbtCompound();
+            from.writeToNbt(tag, registryLookup);
+            to.readFromNbt(tag, registryLookup);
+        }
+    }
+
+    /**
+     * Creates a method handle of type {@code (Component from, Component to)void} assigning every copyable field of {@code componentClass}.
+     */
+    private static MethodHandle createCopier(Class<?> componentClass) {
+        MethodHandle copier = MethodHandles.empty(COPIER_TYPE);
+
+        for (Class<?> c = componentClass; c != Object.class; c = c.getSuperclass()) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(c, MethodHandles.lookup());
+
+                for (Field field : c.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+
+                    if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isTransient(modifiers)) {
+                        continue;
+                    }
+
+                    // (to, from)void
+                    MethodHandle copyField = MethodHandles.filterArguments(lookup.unreflectSetter(field), 1, lookup.unreflectGetter(field));
+                    // (from, to)void
+                    copyField = MethodHandles.permuteArguments(copyField.asType(COPIER_TYPE), COPIER_TYPE, 1, 0);
+                    copier = MethodHandles.foldArguments(copier, copyField);
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot generate a field copier for " + componentClass, e);
+            }
+        }
+
+        return copier;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import org.jetbrains.annotations.Nullable;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable set of component keys, backed by a bitset indexed by {@linkplain ComponentKey#getRawId() raw id}.
+ *
+ * <p>Generated component containers share one instance per container class as their {@link org.ladysnake.cca.api.v3.component.ComponentContainer#keys() key set},
+ * so that membership tests and intersections are bit operations. Iteration follows insertion order.
+ */
+public final class ComponentKeySet extends AbstractSet<ComponentKey<?>> {
+    private final ComponentKey<?>[] keys;
+    private final long[] bits;
+
+    private ComponentKeySet(ComponentKey<?>[] keys, long[] bits) {
+        this.keys = keys;
+        this.bits = bits;
+    }
+
+    public static ComponentKeySet of(Collection<? extends ComponentKey<?>> keys) {
+        int maxId = -1;
+        for (ComponentKey<?> key : keys) {
+            maxId = Math.max(maxId, key.getRawId());
+        }
+
+        long[] bits = new long[(maxId >> 6) + 1];
+        ComponentKey<?>[] array = new ComponentKey<?>[keys.size()];
+        int size = 0;
+
+        for (ComponentKey<?> key : keys) {
+            int id = key.getRawId();
+            if ((bits[id >> 6] & (1L << id)) == 0) {
+                bits[id >> 6] |= 1L << id;
+                array[size++] = key;
+            }
+        }
+
+        return new ComponentKeySet(size == array.length ? array : Arrays.copyOf(array, size), bits);
+    }
+
+    public boolean contains(ComponentKey<?> key) {
+        int id = key.getRawId();
+        int word = id >> 6;
+        return word < this.bits.length && (this.bits[word] & (1L << id)) != 0;
+    }
+
+    @Override
+    public boolean contains(@Nullable Object o) {
+        return o instanceof ComponentKey<?> key && this.contains(key);
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (c instanceof ComponentKeySet other) {
+            long[] theirs = other.bits;
+            for (int i = 0; i < theirs.length; i++) {
+                long ours = i < this.bits.length ? this.bits[i] : 0L;
+                if ((theirs[i] & ~ours) != 0) return false;
+            }
+            return true;
+        }
+        return super.containsAll(c);
+    }
+
+    /**
+     * {@return the keys of this set that also belong to {@code other}, in this set's order}
+     */
+    public ComponentKeySet intersection(ComponentKeySet other) {
+        if (other == this) return this;
+
+        int length = Math.min(this.bits.length, other.bits.length);
+        long[] common = new long[length];
+        int count = 0;
+
+        for (int i = 0; i < length; i++) {
+            common[i] = this.bits[i] & other.bits[i];
+            count += Long.bitCount(common[i]);
+        }
+
+        if (count == this.keys.length) return this;
+
+        ComponentKey<?>[] array = new ComponentKey<?>[count];
+        int size = 0;
+
+        for (ComponentKey<?> key : this.keys) {
+            if (other.contains(key)) array[size++] = key;
+        }
+
+        return new ComponentKeySet(array, common);
+    }
+
+    @Override
+    public Iterator<ComponentKey<?>> iterator() {
+        return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < ComponentKeySet.this.keys.length;
+            }
+
+            @Override
+            public ComponentKey<?> next() {
+                if (!this.hasNext()) throw new NoSuchElementException();
+                return ComponentKeySet.this.keys[this.index++];
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return this.keys.length;
+    }
+}
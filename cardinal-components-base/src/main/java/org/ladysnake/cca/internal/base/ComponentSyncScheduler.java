@@ -0,0 +1,229 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.api.v3.component.ComponentProvider;
+import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
+import org.ladysnake.cca.api.v3.component.sync.ComponentPacketWriter;
+import org.ladysnake.cca.api.v3.component.sync.PlayerSyncPredicate;
+import org.ladysnake.cca.api.v3.component.sync.SyncInterest;
+import org.ladysnake.cca.api.v3.component.sync.SyncRateLimit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies {@link SyncInterest} and {@link SyncRateLimit} settings to component updates.
+ *
+ * <p>Every player, provider and key combination that recently received an update, or that has an update held back,
+ * gets a {@link Slot}. While a slot exists, new updates only mark it as dirty; once it is due, a dirty slot gets flushed
+ * as a single full sync, and a clean one gets dropped. Byte rate limits are tracked per player and key, across providers.
+ *
+ * <p>Everything in here is only accessed from the server thread.
+ */
+public final class ComponentSyncScheduler {
+    /**
+     * How long to wait before checking again whether a player came back within a key's sync radius
+     */
+    private static final int OUT_OF_RANGE_RECHECK_TICKS = 20;
+
+    private static final Map<SyncTarget, Slot> slots = new Object2ObjectOpenHashMap<>();
+    private static final Long2ObjectMap<List<SyncTarget>> queue = new Long2ObjectOpenHashMap<>();
+    private static final Object2LongMap<PlayerBudget> budgets = new Object2LongOpenHashMap<>();
+    private static final Sender NETWORK = (player, key, provider, writer, predicate) -> key.sendSyncPacket(player, provider, writer, predicate);
+    private static long lastFlushedTick;
+
+    /**
+     * Sends or holds back an update for the given recipient, according to {@code key}'s settings
+     *
+     * @see org.ladysnake.cca.api.v3.component.sync.SyncRecipientVisitor
+     */
+    public static void sync(ServerPlayerEntity player, ComponentKey<?> key, ComponentProvider provider, ComponentPacketWriter writer, PlayerSyncPredicate predicate) {
+        sync(player, key, provider, writer, predicate, player.server.getTicks(), NETWORK);
+    }
+
+    static void sync(ServerPlayerEntity player, ComponentKey<?> key, ComponentProvider provider, ComponentPacketWriter writer, PlayerSyncPredicate predicate, long now, Sender sender) {
+        if (!predicate.shouldSyncWith(player)) return;
+        SyncTarget target = new SyncTarget(player, provider, key);
+        Slot slot = slots.get(target);
+
+        if (slot != null) {
+            // an update is already scheduled, it will carry the latest state when it gets sent
+            slot.dirty = true;
+            SyncMetrics.recordSuppressed(key, provider);
+            return;
+        }
+
+        long delay = getDelay(target, now);
+
+        if (delay > 0) {
+            schedule(target, new Slot(), now + delay).dirty = true;
+            SyncMetrics.recordSuppressed(key, provider);
+        } else {
+            onSent(target, null, now, sender.send(player, key, provider, writer, predicate));
+        }
+    }
+
+    /**
+     * @return how long an update for {@code target} must wait before being sent, not counting rate limit intervals
+     */
+    private static long getDelay(SyncTarget target, long now) {
+        SyncInterest interest = target.key().getSyncInterest();
+
+        if (interest != SyncInterest.UNLIMITED && !interest.isInRange(target.provider().getSquaredSyncDistance(target.player()))) {
+            return OUT_OF_RANGE_RECHECK_TICKS;
+        }
+
+        if (target.key().getSyncRateLimit().getMaxBytesPerSecond() > 0) {
+            return Math.max(0, budgets.getLong(new PlayerBudget(target.player(), target.key())) - now);
+        }
+
+        return 0;
+    }
+
+    private static void onSent(SyncTarget target, Slot slot, long now, int bytes) {
+        ComponentKey<?> key = target.key();
+        SyncInterest interest = key.getSyncInterest();
+        SyncRateLimit rateLimit = key.getSyncRateLimit();
+        long interval = rateLimit.getMinInterval();
+
+        if (interest != SyncInterest.UNLIMITED) {
+            interval = Math.max(interval, interest.getSyncInterval(target.provider().getSquaredSyncDistance(target.player())));
+        }
+
+        if (bytes > 0 && rateLimit.getMaxBytesPerSecond() > 0) {
+            PlayerBudget budget = new PlayerBudget(target.player(), key);
+            long budgetTick = Math.max(budgets.getLong(budget), now) + rateLimit.getBudgetTicks(bytes);
+            budgets.put(budget, budgetTick);
+            interval = Math.max(interval, budgetTick - now);
+        }
+
+        if (interval > 1) {
+            schedule(target, slot == null ? new Slot() : slot, now + interval).dirty = false;
+        } else if (slot != null) {
+            slots.remove(target);
+        }
+    }
+
+    private static Slot schedule(SyncTarget target, Slot slot, long dueTick) {
+        slot.dueTick = dueTick;
+        slots.put(target, slot);
+        queue.computeIfAbsent(dueTick, t -> new ArrayList<>()).add(target);
+        return slot;
+    }
+
+    public static void flush(MinecraftServer server) {
+        flush(server.getTicks(), NETWORK);
+    }
+
+    static void flush(long now, Sender sender) {
+        for (long tick = lastFlushedTick + 1; tick <= now && !queue.isEmpty(); tick++) {
+            List<SyncTarget> due = queue.remove(tick);
+
+            if (due != null) {
+                for (SyncTarget target : due) {
+                    Slot slot = slots.get(target);
+
+                    // the slot may have been rescheduled or dropped in the meantime
+                    if (slot != null && slot.dueTick == tick) {
+                        flush(target, slot, now, sender);
+                    }
+                }
+            }
+        }
+
+        budgets.object2LongEntrySet().removeIf(e -> e.getLongValue() <= now);
+        lastFlushedTick = now;
+    }
+
+    private static void flush(SyncTarget target, Slot slot, long now, Sender sender) {
+        ServerPlayerEntity player = target.player();
+
+        if (!slot.dirty || player.isDisconnected() || !isRecipient(target.provider(), player)) {
+            slots.remove(target);
+            return;
+        }
+
+        long delay = getDelay(target, now);
+
+        if (delay > 0) {
+            schedule(target, slot, now + delay);
+        } else {
+            // the player missed some updates, a partial update would not be enough
+            onSent(target, slot, now, sender.sendFull(player, target.key(), target.provider()));
+        }
+    }
+
+    private static boolean isRecipient(ComponentProvider provider, ServerPlayerEntity player) {
+        for (ServerPlayerEntity recipient : provider.getRecipientsForComponentSync()) {
+            if (recipient == player) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static void clear() {
+        slots.clear();
+        queue.clear();
+        budgets.clear();
+        lastFlushedTick = 0;
+    }
+
+    /**
+     * Sends the updates that are due, only replaced in tests
+     */
+    interface Sender {
+        /**
+         * @return the size of the component data that got sent, or {@code -1} if nothing got sent
+         */
+        int send(ServerPlayerEntity player, ComponentKey<?> key, ComponentProvider provider, ComponentPacketWriter writer, PlayerSyncPredicate predicate);
+
+        /**
+         * Sends a full sync of the component, using its own sync logic.
+         *
+         * @return the size of the component data that got sent, or {@code -1} if nothing got sent
+         */
+        default int sendFull(ServerPlayerEntity player, ComponentKey<?> key, ComponentProvider provider) {
+            return key.getNullable(provider) instanceof AutoSyncedComponent synced ? this.send(player, key, provider, synced, synced) : -1;
+        }
+    }
+
+    private record SyncTarget(ServerPlayerEntity player, ComponentProvider provider, ComponentKey<?> key) {}
+
+    private record PlayerBudget(ServerPlayerEntity player, ComponentKey<?> key) {}
+
+    private static final class Slot {
+        long dueTick;
+        boolean dirty;
+    }
+}
@@ -25,7 +25,6 @@ package org.ladysnake.cca.internal.base;
 import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
 import net.minecraft.network.RegistryByteBuf;
 import net.minecraft.network.codec.PacketCodec;
-import net.minecraft.network.codec.PacketCodecs;
 import net.minecraft.network.packet.CustomPayload;
 import net.minecraft.util.Identifier;
 import org.ladysnake.cca.api.v3.component.ComponentKey;
@@ -49,13 +48,20 @@ public record ComponentUpdatePayload<T>(
     }
 
     public static <T> PacketCodec<RegistryByteBuf, ComponentUpdatePayload<T>> codec(Id<ComponentUpdatePayload<T>> id, PacketCodec<? super RegistryByteBuf, T> targetDataCodec) {
-        return PacketCodec.tuple(
-            PacketCodec.unit(id), ComponentUpdatePayload::id,
-            targetDataCodec, ComponentUpdatePayload::targetData,
-            PacketCodecs.BOOL, ComponentUpdatePayload::required,
-            Identifier.PACKET_CODEC, ComponentUpdatePayload::componentKeyId,
-            MorePacketCodecs.REG_BYTE_BUF, ComponentUpdatePayload::buf,
-            ComponentUpdatePayload::new
+        // hand-written rather than a tuple, the key id is needed to pick a compression dictionary
+        return PacketCodec.ofStatic(
+            (buf, payload) -> {
+                targetDataCodec.encode(buf, payload.targetData());
+                buf.writeBoolean(payload.required());
+                Identifier.PACKET_CODEC.encode(buf, payload.componentKeyId());
+                SyncCompression.write(buf, payload.componentKeyId(), payload.buf());
+            },
+            buf -> {
+                T targetData = targetDataCodec.decode(buf);
+                boolean required = buf.readBoolean();
+                Identifier componentKeyId = Identifier.PACKET_CODEC.decode(buf);
+                return new ComponentUpdatePayload<>(id, targetData, required, componentKeyId, SyncCompression.read(buf, componentKeyId));
+            }
         );
     }
 
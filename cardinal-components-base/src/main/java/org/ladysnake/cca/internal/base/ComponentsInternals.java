@@ -24,6 +24,9 @@ package org.ladysnake.cca.internal.base;
 
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.util.Identifier;
 import org.apache.logging.log4j.LogManager;
@@ -46,12 +49,30 @@ public final class ComponentsInternals {
     public static final Logger LOGGER = LogManager.getLogger("Cardinal Components API");
     private static final int DEFAULT_MAX_WARNINGS_PER_COMPONENT = 5;
     private static final boolean DEFAULT_LOG_DESERIALIZATION_WARNINGS = true;
-    private static final int configVersion = 2;
+    private static final int DEFAULT_CHUNK_SYNC_BYTES_PER_TICK = 65536;
+    private static final boolean DEFAULT_SYNC_UNCHANGED_BLOCK_ENTITY_COMPONENTS = false;
+    private static final int DEFAULT_SYNC_COMPRESSION_THRESHOLD = -1;
+    private static final int configVersion = 5;
     private static boolean logDeserializationWarnings = DEFAULT_LOG_DESERIALIZATION_WARNINGS;
     private static int maxWarningsPerComponent = DEFAULT_MAX_WARNINGS_PER_COMPONENT;
+    private static int chunkSyncBytesPerTick = DEFAULT_CHUNK_SYNC_BYTES_PER_TICK;
+    private static boolean syncUnchangedBlockEntityComponents = DEFAULT_SYNC_UNCHANGED_BLOCK_ENTITY_COMPONENTS;
+    private static int syncCompressionThreshold = DEFAULT_SYNC_COMPRESSION_THRESHOLD;
     private static final Object2IntMap<String> warningCounts = new Object2IntOpenHashMap<>();
 
     public static void init() {
+        if (FabricLoader.getInstance().isModLoaded("fabric-lifecycle-events-v1")) {
+            ServerTickEvents.END_SERVER_TICK.register(ComponentSyncScheduler::flush);
+            ServerTickEvents.END_SERVER_TICK.register(SyncMetrics::tick);
+            ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+                ComponentSyncScheduler.clear();
+                SyncMetrics.clear();
+                AsyncNbtWriter.flush();
+            });
+        }
+        if (FabricLoader.getInstance().isModLoaded("fabric-command-api-v2")) {
+            CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> SyncMetricsCommand.register(dispatcher));
+        }
         Path path = FabricLoader.getInstance().getConfigDir().resolve("cardinal-components-api.properties");
         try(Reader reader = Files.newBufferedReader(path)) {
             Properties cfg = new Properties();
@@ -62,6 +83,9 @@ public final class ComponentsInternals {
             }
             logDeserializationWarnings = Boolean.parseBoolean(cfg.getProperty("log-deserialization-warnings", String.valueOf(DEFAULT_LOG_DESERIALIZATION_WARNINGS)));
             maxWarningsPerComponent = Integer.parseInt(cfg.getProperty("max-deserialization-warnings", String.valueOf(DEFAULT_MAX_WARNINGS_PER_COMPONENT)));
+            chunkSyncBytesPerTick = Integer.parseInt(cfg.getProperty("chunk-sync-bytes-per-tick", String.valueOf(DEFAULT_CHUNK_SYNC_BYTES_PER_TICK)));
+            syncUnchangedBlockEntityComponents = Boolean.parseBoolean(cfg.getProperty("sync-unchanged-block-entity-components", String.valueOf(DEFAULT_SYNC_UNCHANGED_BLOCK_ENTITY_COMPONENTS)));
+            syncCompressionThreshold = Integer.parseInt(cfg.getProperty("sync-compression-threshold", String.valueOf(DEFAULT_SYNC_COMPRESSION_THRESHOLD)));
         } catch (IOException e) {
             writeConfigFile(path);
         }
@@ -76,10 +100,22 @@ public final class ComponentsInternals {
                 # If log-deserialization-warnings is enabled, warnings will be printed at most *this number of times* for every component type
                 # Default value: %2$d
                 max-deserialization-warnings = %2$d
+                # Maximum amount of chunk component data sent to each player per tick, in bytes, when chunks get loaded in bulk
+                # At least one chunk is always sent per tick. Set to 0 or less to send every chunk's components right away
+                # Default value: %3$d
+                chunk-sync-bytes-per-tick = %3$d
+                # If set to true, every synced block entity component will be resent whenever its block entity gets updated,
+                # instead of only the components that were marked as changed. Enable this if a mod's block entity components fail to sync
+                # Default value: %4$s
+                sync-unchanged-block-entity-components = %4$s
+                # Component sync data larger than this size, in bytes, gets compressed before being sent. Set to a negative value to disable
+                # Vanilla already compresses packets on dedicated servers, so this is mostly useful with network compression disabled or for mods with large components
+                # Default value: %5$d
+                sync-compression-threshold = %5$d
 
                 # Internal value, do not edit or your changes may be arbitrarily reset
-                config-version = %3$d
-                """.formatted(DEFAULT_LOG_DESERIALIZATION_WARNINGS, DEFAULT_MAX_WARNINGS_PER_COMPONENT, configVersion));
+                config-version = %6$d
+                """.formatted(DEFAULT_LOG_DESERIALIZATION_WARNINGS, DEFAULT_MAX_WARNINGS_PER_COMPONENT, DEFAULT_CHUNK_SYNC_BYTES_PER_TICK, DEFAULT_SYNC_UNCHANGED_BLOCK_ENTITY_COMPONENTS, DEFAULT_SYNC_COMPRESSION_THRESHOLD, configVersion));
         } catch (IOException ex) {
             LOGGER.error("Failed to write config file at {}", path);
         }
@@ -94,6 +130,18 @@ public final class ComponentsInternals {
         }
     }
 
+    public static int getChunkSyncBytesPerTick() {
+        return chunkSyncBytesPerTick;
+    }
+
+    public static boolean shouldSyncUnchangedBlockEntityComponents() {
+        return syncUnchangedBlockEntityComponents;
+    }
+
+    public static int getSyncCompressionThreshold() {
+        return syncCompressionThreshold;
+    }
+
     public static void logDeserializationWarnings(Collection<String> missedKeyIds) {
         if (logDeserializationWarnings) {
             for (String missedKeyId : missedKeyIds) {
@@ -0,0 +1,162 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+import org.ladysnake.cca.api.v3.component.Component;
+import org.ladysnake.cca.api.v3.component.ComponentContainer;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.api.v3.component.ComponentRegistry;
+import org.ladysnake.cca.api.v3.component.SnapshotDeserializableComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serialized component data split by {@link ComponentKey}, ready to be read by a {@link ComponentContainer}.
+ *
+ * <p>Unlike {@link ComponentContainer#fromTag(NbtCompound, RegistryWrapper.WrapperLookup)}, preparing the data
+ * does not modify the source tag, and can be done on any thread ahead of time. Keys with a
+ * {@linkplain ComponentKey#getSnapshotDecoder() snapshot decoder} also get their data decoded during preparation.
+ * Only the final {@link #applyTo(ComponentContainer, RegistryWrapper.WrapperLookup) application} needs the actual components.
+ *
+ * @see SnapshotDeserializableComponent
+ */
+public final class PreparedComponentData {
+    private final Map<ComponentKey<?>, NbtCompound> componentTags;
+    /**
+     * Snapshots decoded ahead of time, for the keys that have a decoder
+     */
+    private final Map<ComponentKey<?>, Object> snapshots;
+    private final List<String> unknownKeyIds;
+    private final @Nullable NbtCompound legacyTag;
+
+    private PreparedComponentData(Map<ComponentKey<?>, NbtCompound> componentTags, Map<ComponentKey<?>, Object> snapshots, List<String> unknownKeyIds, @Nullable NbtCompound legacyTag) {
+        this.componentTags = componentTags;
+        this.snapshots = snapshots;
+        this.unknownKeyIds = unknownKeyIds;
+        this.legacyTag = legacyTag;
+    }
+
+    /**
+     * Extracts the component data serialized in {@code tag}.
+     *
+     * @param tag            a tag written by {@link ComponentContainer#toTag(NbtCompound, RegistryWrapper.WrapperLookup)}
+     * @param registryLookup the registries used to decode snapshots
+     * @return the prepared data, or {@code null} if {@code tag} holds no component data
+     */
+    public static @Nullable PreparedComponentData prepare(NbtCompound tag, RegistryWrapper.WrapperLookup registryLookup) {
+        if (tag.contains(AbstractComponentContainer.NBT_KEY, NbtElement.LIST_TYPE)) {
+            // Old format, let the container deal with it
+            NbtCompound legacyTag = new NbtCompound();
+            legacyTag.put(AbstractComponentContainer.NBT_KEY, tag.get(AbstractComponentContainer.NBT_KEY));
+            return new PreparedComponentData(Map.of(), Map.of(), List.of(), legacyTag);
+        } else if (tag.contains(AbstractComponentContainer.NBT_KEY, NbtElement.COMPOUND_TYPE)) {
+            NbtCompound componentMap = tag.getCompound(AbstractComponentContainer.NBT_KEY);
+            Map<ComponentKey<?>, NbtCompound> componentTags = new Reference2ObjectOpenHashMap<>(componentMap.getSize());
+            Map<ComponentKey<?>, Object> snapshots = new Reference2ObjectOpenHashMap<>(0);
+            List<String> unknownKeyIds = new ArrayList<>(0);
+
+            for (String keyId : componentMap.getKeys()) {
+                Identifier id = Identifier.tryParse(keyId);
+                ComponentKey<?> key = id == null ? null : ComponentRegistry.get(id);
+
+                if (key != null && componentMap.get(keyId) instanceof NbtCompound componentTag) {
+                    componentTags.put(key, componentTag);
+                    SnapshotDeserializableComponent.Decoder<?> decoder = key.getSnapshotDecoder();
+
+                    if (decoder != null) {
+                        try {
+                            snapshots.put(key, decoder.decode(componentTag, registryLookup));
+                        } catch (RuntimeException e) {
+                            // the component will read the tag itself, and likely report the problem better
+                            ComponentsInternals.LOGGER.warn("Failed to decode a snapshot of component {} ahead of time", keyId, e);
+                        }
+                    }
+                } else {
+                    unknownKeyIds.add(keyId);
+                }
+            }
+            return new PreparedComponentData(componentTags, snapshots, unknownKeyIds, null);
+        }
+        return null;
+    }
+
+    /**
+     * Reads the prepared data into the components of {@code container}.
+     *
+     * @return {@code true} if some of the data could not be read, meaning it will be lost the next time the container is saved
+     */
+    public boolean applyTo(ComponentContainer container, RegistryWrapper.WrapperLookup registryLookup) {
+        if (this.legacyTag != null) {
+            container.fromTag(this.legacyTag, registryLookup);
+            return false;
+        }
+
+        int readCount = 0;
+
+        // iterate over the container's keys to respect the order in which components would normally be read
+        for (ComponentKey<?> key : container.keys()) {
+            NbtCompound componentTag = this.componentTags.get(key);
+
+            if (componentTag != null) {
+                Component component = key.getFromContainer(container);
+                Object snapshot = this.snapshots.get(key);
+
+                if (snapshot != null && component instanceof SnapshotDeserializableComponent<?> deserializable) {
+                    applySnapshot(deserializable, snapshot);
+                } else {
+                    component.readFromNbt(componentTag, registryLookup);
+                }
+
+                readCount++;
+            }
+        }
+
+        if (readCount == this.componentTags.size() && this.unknownKeyIds.isEmpty()) {
+            return false;
+        }
+
+        List<String> missedKeyIds = new ArrayList<>(this.unknownKeyIds);
+
+        for (ComponentKey<?> key : this.componentTags.keySet()) {
+            if (!container.keys().contains(key)) {
+                missedKeyIds.add(key.getId().toString());
+            }
+        }
+
+        ComponentsInternals.logDeserializationWarnings(missedKeyIds);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S> void applySnapshot(SnapshotDeserializableComponent<S> component, Object snapshot) {
+        component.applySnapshot((S) snapshot);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.EncoderException;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.api.v3.component.ComponentRegistry;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Writes and reads component sync data, deflating it when it is larger than the configured threshold.
+ *
+ * <p>The data is prefixed with a var int holding its uncompressed size shifted left by one, the lowest bit being set
+ * if the data is compressed. Compressed data then holds its compressed size as another var int. Keys with a
+ * {@linkplain ComponentKey#setSyncCompressionDictionary(byte[]) preset dictionary} use it on both ends.
+ *
+ * <p>Payloads may get encoded and decoded on network threads, so every thread gets its own deflater and inflater.
+ */
+public final class SyncCompression {
+    /**
+     * Protection against decompression bombs
+     */
+    private static final int MAX_UNCOMPRESSED_SIZE = 8 * 1024 * 1024;
+    private static final ThreadLocal<Deflater> deflaters = ThreadLocal.withInitial(Deflater::new);
+    private static final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(Inflater::new);
+
+    public static void write(RegistryByteBuf out, Identifier keyId, ByteBuf data) {
+        write(out, keyId, data, ComponentsInternals.getSyncCompressionThreshold());
+    }
+
+    public static void write(RegistryByteBuf out, Identifier keyId, ByteBuf data, int threshold) {
+        int size = data.readableBytes();
+
+        if (threshold < 0 || size < threshold) {
+            out.writeVarInt(size << 1);
+            out.writeBytes(data);
+            return;
+        }
+
+        byte[] input = new byte[size];
+        data.readBytes(input);
+        Deflater deflater = deflaters.get();
+        deflater.reset();
+        byte[] dictionary = getDictionary(keyId);
+        if (dictionary != null) deflater.setDictionary(dictionary);
+        deflater.setInput(input);
+        deflater.finish();
+        byte[] output = new byte[Math.max(64, size / 2)];
+        int compressedSize = 0;
+
+        while (!deflater.finished()) {
+            if (compressedSize == output.length) {
+                if (output.length >= size) break;   // not worth it
+                output = Arrays.copyOf(output, Math.min(output.length * 2, size));
+            }
+            compressedSize += deflater.deflate(output, compressedSize, output.length - compressedSize);
+        }
+
+        if (!deflater.finished() || compressedSize >= size) {
+            out.writeVarInt(size << 1);
+            out.writeBytes(input);
+        } else {
+            out.writeVarInt(size << 1 | 1);
+            out.writeVarInt(compressedSize);
+            out.writeBytes(output, 0, compressedSize);
+        }
+    }
+
+    public static RegistryByteBuf read(RegistryByteBuf in, Identifier keyId) {
+        int header = in.readVarInt();
+        int size = header >>> 1;
+
+        if ((header & 1) == 0) {
+            checkReadable(in, size, keyId);
+            ByteBuf copy = Unpooled.buffer(size, size);
+            in.readBytes(copy, size);
+            return new RegistryByteBuf(copy, in.getRegistryManager());
+        }
+
+        if (size > MAX_UNCOMPRESSED_SIZE) {
+            throw new DecoderException("Component data for " + keyId + " is too large (" + size + " > " + MAX_UNCOMPRESSED_SIZE + ")");
+        }
+
+        int compressedSize = in.readVarInt();
+        checkReadable(in, compressedSize, keyId);
+        byte[] input = new byte[compressedSize];
+        in.readBytes(input);
+        byte[] output = new byte[size];
+        Inflater inflater = inflaters.get();
+        inflater.reset();
+        inflater.setInput(input);
+
+        try {
+            int read = inflater.inflate(output);
+
+            if (read == 0 && inflater.needsDictionary()) {
+                byte[] dictionary = getDictionary(keyId);
+                if (dictionary == null) throw new DecoderException("Missing compression dictionary for component " + keyId);
+                inflater.setDictionary(dictionary);
+                read = inflater.inflate(output);
+            }
+
+            if (read != size || !inflater.finished()) {
+                throw new DecoderException("Badly compressed component data for " + keyId + ": expected " + size + " bytes, got " + read);
+            }
+        } catch (DataFormatException e) {
+            throw new DecoderException("Badly compressed component data for " + keyId, e);
+        }
+
+        return new RegistryByteBuf(Unpooled.wrappedBuffer(output), in.getRegistryManager());
+    }
+
+    /**
+     * Checks sizes read from the network before allocating anything for them
+     */
+    private static void checkReadable(ByteBuf in, int size, Identifier keyId) {
+        if (size < 0 || size > in.readableBytes()) {
+            throw new DecoderException("Component data for " + keyId + " is truncated (expected " + size + " bytes, got " + in.readableBytes() + ")");
+        }
+    }
+
+    private static byte @Nullable [] getDictionary(Identifier keyId) {
+        ComponentKey<?> key = ComponentRegistry.get(keyId);
+        return key == null ? null : key.getSyncCompressionDictionary();
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectArrayMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.entity.Entity;
+import net.minecraft.scoreboard.Scoreboard;
+import net.minecraft.scoreboard.Team;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProperties;
+import net.minecraft.world.chunk.Chunk;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.api.v3.component.sync.SyncMetricsExporter;
+import org.ladysnake.cca.api.v3.component.sync.SyncMetricsSample;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Counts component sync traffic per key and provider type, over a rolling window of one-second buckets.
+ *
+ * <p>Recording is only expected to happen on the server thread.
+ */
+public final class SyncMetrics {
+    public static final int WINDOW_SECONDS = 60;
+
+    private static final ClassValue<String> providerTypes = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            if (Entity.class.isAssignableFrom(type)) return "entity";
+            if (BlockEntity.class.isAssignableFrom(type)) return "block_entity";
+            if (Chunk.class.isAssignableFrom(type)) return "chunk";
+            if (World.class.isAssignableFrom(type)) return "world";
+            if (WorldProperties.class.isAssignableFrom(type)) return "level";
+            if (Team.class.isAssignableFrom(type)) return "team";
+            if (Scoreboard.class.isAssignableFrom(type)) return "scoreboard";
+            return type.getSimpleName();
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    private static Reference2ObjectMap<String, Counters>[] countersByKey = new Reference2ObjectMap[0];
+    private static int bucket;
+    private static int ticks;
+
+    public static void recordUpdate(ComponentKey<?> key, Object provider, int bytes, long encodeNanos) {
+        Counters counters = getCounters(key, provider);
+        counters.updates[bucket]++;
+        counters.bytes[bucket] += bytes;
+        counters.encodeNanos[bucket] += encodeNanos;
+        counters.lastUpdateBytes = bytes;
+    }
+
+    public static void recordSuppressed(ComponentKey<?> key, Object provider) {
+        getCounters(key, provider).suppressed[bucket]++;
+    }
+
+    /**
+     * Records that an unchanged component was not resent to {@code recipients} players.
+     */
+    public static void recordSkipped(ComponentKey<?> key, Object provider, int recipients) {
+        Counters counters = getCounters(key, provider);
+        counters.skipped[bucket] += recipients;
+        counters.skippedBytes[bucket] += (long) recipients * counters.lastUpdateBytes;
+    }
+
+    private static Counters getCounters(ComponentKey<?> key, Object provider) {
+        int id = key.getRawId();
+
+        if (id >= countersByKey.length) {
+            countersByKey = Arrays.copyOf(countersByKey, Math.max(id + 1, countersByKey.length * 2));
+        }
+
+        Reference2ObjectMap<String, Counters> byType = countersByKey[id];
+
+        if (byType == null) {
+            byType = countersByKey[id] = new Reference2ObjectArrayMap<>(2);
+        }
+
+        String providerType = providerTypes.get(provider.getClass());
+        Counters counters = byType.get(providerType);
+
+        if (counters == null) {
+            counters = new Counters(key, providerType);
+            byType.put(providerType, counters);
+        }
+
+        return counters;
+    }
+
+    public static void tick(MinecraftServer server) {
+        if (++ticks < 20) return;
+        ticks = 0;
+
+        List<SyncMetricsSample> samples = collect(bucket, bucket + 1);
+        bucket = (bucket + 1) % WINDOW_SECONDS;
+
+        for (Reference2ObjectMap<String, Counters> byType : countersByKey) {
+            if (byType != null) {
+                for (Counters counters : byType.values()) {
+                    counters.clear(bucket);
+                }
+            }
+        }
+
+        if (!samples.isEmpty()) {
+            SyncMetricsExporter.EVENT.invoker().export(server, samples);
+        }
+    }
+
+    /**
+     * @return the traffic over the whole window, sorted by decreasing amount of bytes sent
+     */
+    public static List<SyncMetricsSample> getWindowTotals() {
+        List<SyncMetricsSample> samples = collect(0, WINDOW_SECONDS);
+        samples.sort(Comparator.comparingLong(SyncMetricsSample::bytes).reversed());
+        return samples;
+    }
+
+    private static List<SyncMetricsSample> collect(int fromBucket, int toBucket) {
+        List<SyncMetricsSample> samples = new ArrayList<>();
+
+        for (Reference2ObjectMap<String, Counters> byType : countersByKey) {
+            if (byType != null) {
+                for (Counters counters : byType.values()) {
+                    SyncMetricsSample sample = counters.sum(fromBucket, toBucket);
+
+                    if (sample.updates() > 0 || sample.suppressed() > 0 || sample.skipped() > 0) {
+                        samples.add(sample);
+                    }
+                }
+            }
+        }
+
+        return samples;
+    }
+
+    public static void clear() {
+        Arrays.fill(countersByKey, null);
+        bucket = 0;
+        ticks = 0;
+    }
+
+    private static final class Counters {
+        final ComponentKey<?> key;
+        final String providerType;
+        final long[] updates = new long[WINDOW_SECONDS];
+        final long[] bytes = new long[WINDOW_SECONDS];
+        final long[] suppressed = new long[WINDOW_SECONDS];
+        final long[] skipped = new long[WINDOW_SECONDS];
+        final long[] skippedBytes = new long[WINDOW_SECONDS];
+        final long[] encodeNanos = new long[WINDOW_SECONDS];
+        /**
+         * The size of the latest update, used to estimate how much data skipped resends save
+         */
+        int lastUpdateBytes;
+
+        Counters(ComponentKey<?> key, String providerType) {
+            this.key = key;
+            this.providerType = providerType;
+        }
+
+        SyncMetricsSample sum(int from, int to) {
+            long updates = 0, bytes = 0, suppressed = 0, skipped = 0, skippedBytes = 0, encodeNanos = 0;
+
+            for (int i = from; i < to; i++) {
+                updates += this.updates[i];
+                bytes += this.bytes[i];
+                suppressed += this.suppressed[i];
+                skipped += this.skipped[i];
+                skippedBytes += this.skippedBytes[i];
+                encodeNanos += this.encodeNanos[i];
+            }
+
+            return new SyncMetricsSample(this.key, this.providerType, updates, bytes, suppressed, skipped, skippedBytes, encodeNanos);
+        }
+
+        void clear(int bucket) {
+            this.updates[bucket] = 0;
+            this.bytes[bucket] = 0;
+            this.suppressed[bucket] = 0;
+            this.skipped[bucket] = 0;
+            this.skippedBytes[bucket] = 0;
+            this.encodeNanos[bucket] = 0;
+        }
+    }
+}
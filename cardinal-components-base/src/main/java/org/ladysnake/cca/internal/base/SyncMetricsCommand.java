@@ -0,0 +1,77 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import org.ladysnake.cca.api.v3.component.sync.SyncMetricsSample;
+
+import java.util.List;
+
+public final class SyncMetricsCommand {
+    private static final int DEFAULT_COUNT = 10;
+
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(CommandManager.literal("cardinal-components")
+            .requires(source -> source.hasPermissionLevel(2))
+            .then(CommandManager.literal("sync-metrics")
+                .executes(context -> dump(context, DEFAULT_COUNT))
+                .then(CommandManager.argument("count", IntegerArgumentType.integer(1))
+                    .executes(context -> dump(context, IntegerArgumentType.getInteger(context, "count")))
+                )
+            )
+        );
+    }
+
+    private static int dump(CommandContext<ServerCommandSource> context, int count) {
+        List<SyncMetricsSample> samples = SyncMetrics.getWindowTotals();
+        ServerCommandSource source = context.getSource();
+        // Dedicated servers cannot handle translations
+        source.sendFeedback(() -> Text.literal("Component sync traffic over the last " + SyncMetrics.WINDOW_SECONDS + " seconds, by bytes sent:"), false);
+
+        if (samples.isEmpty()) {
+            source.sendFeedback(() -> Text.literal("  no traffic"), false);
+        }
+
+        for (SyncMetricsSample sample : samples.subList(0, Math.min(count, samples.size()))) {
+            String line = "  %s (%s): %d updates, %.1f KiB, %d suppressed, %d skipped (~%.1f KiB saved, %.1f bytes per tick), %.1f µs encoding per update".formatted(
+                sample.key().getId(),
+                sample.providerType(),
+                sample.updates(),
+                sample.bytes() / 1024.0,
+                sample.suppressed(),
+                sample.skipped(),
+                sample.skippedBytes() / 1024.0,
+                sample.skippedBytes() / (double) (SyncMetrics.WINDOW_SECONDS * 20),
+                sample.updates() == 0 ? 0.0 : sample.encodeNanos() / 1000.0 / sample.updates()
+            );
+            source.sendFeedback(() -> Text.literal(line), false);
+        }
+
+        return samples.size();
+    }
+}
@@ -28,7 +28,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * Signals that the annotated method is called by an {@link AsmGeneratedCallback}
+ * Signals that the annotated method is called by generated code, like an {@link AsmGeneratedCallback}
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
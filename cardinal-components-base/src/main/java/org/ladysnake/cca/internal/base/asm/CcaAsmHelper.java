@@ -22,9 +22,10 @@
  */
 package org.ladysnake.cca.internal.base.asm;
 
-import it.unimi.dsi.fastutil.objects.ReferenceArraySet;
 import net.fabricmc.fabric.api.event.Event;
 import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryWrapper;
 import net.minecraft.util.Identifier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -33,11 +34,13 @@ import org.ladysnake.cca.api.v3.component.ComponentContainer;
 import org.ladysnake.cca.api.v3.component.ComponentKey;
 import org.ladysnake.cca.api.v3.component.ComponentProvider;
 import org.ladysnake.cca.internal.base.AbstractComponentContainer;
+import org.ladysnake.cca.internal.base.ComponentKeySet;
 import org.ladysnake.cca.internal.base.QualifiedComponentFactory;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.ConstantDynamic;
 import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
@@ -53,7 +56,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -81,6 +83,18 @@ public final class CcaAsmHelper {
     public static final String STATIC_COMPONENT_TYPE = createClassName("ComponentType");
     public static final String STATIC_CONTAINER_FACTORY = createClassName("GeneratedContainerFactory");
     public static final String ABSTRACT_COMPONENT_CONTAINER_CTOR_DESC;
+    private static final String NBT_COMPOUND = Type.getInternalName(NbtCompound.class);
+    private static final String CONTAINER_COPY_FROM_DESC;
+    private static final String CONTAINER_FROM_TAG_DESC;
+    private static final String CONTAINER_TO_TAG_DESC;
+    private static final String COMPONENT_READ_FROM_NBT_DESC;
+    private static final String COMPONENT_WRITE_TO_NBT_DESC;
+    private static final String COPY_COMPONENT_DESC;
+    private static final String GET_COMPONENT_MAP_DESC;
+    private static final String TAKE_COMPONENT_TAG_DESC;
+    private static final String FINISH_READING_DESC;
+    private static final String PUT_COMPONENT_TAG_DESC;
+    private static final String RECYCLE_COMPONENT_TAG_DESC;
 
     private static final List<AsmGeneratedCallbackInfo> asmGeneratedCallbacks = findAsmComponentCallbacks();
 
@@ -89,6 +103,17 @@ public final class CcaAsmHelper {
     static {
         try {
             ABSTRACT_COMPONENT_CONTAINER_CTOR_DESC = Type.getConstructorDescriptor(AbstractComponentContainer.class.getConstructor());
+            CONTAINER_COPY_FROM_DESC = Type.getMethodDescriptor(ComponentContainer.class.getMethod("copyFrom", ComponentContainer.class, RegistryWrapper.WrapperLookup.class));
+            CONTAINER_FROM_TAG_DESC = Type.getMethodDescriptor(ComponentContainer.class.getMethod("fromTag", NbtCompound.class, RegistryWrapper.WrapperLookup.class));
+            CONTAINER_TO_TAG_DESC = Type.getMethodDescriptor(ComponentContainer.class.getMethod("toTag", NbtCompound.class, RegistryWrapper.WrapperLookup.class));
+            COMPONENT_READ_FROM_NBT_DESC = Type.getMethodDescriptor(Component.class.getMethod("readFromNbt", NbtCompound.class, RegistryWrapper.WrapperLookup.class));
+            COMPONENT_WRITE_TO_NBT_DESC = Type.getMethodDescriptor(Component.class.getMethod("writeToNbt", NbtCompound.class, RegistryWrapper.WrapperLookup.class));
+            COPY_COMPONENT_DESC = Type.getMethodDescriptor(AbstractComponentContainer.class.getMethod("copyComponent", Component.class, Component.class, RegistryWrapper.WrapperLookup.class));
+            GET_COMPONENT_MAP_DESC = Type.getMethodDescriptor(AbstractComponentContainer.class.getMethod("getComponentMapForReading", AbstractComponentContainer.class, NbtCompound.class, RegistryWrapper.WrapperLookup.class));
+            TAKE_COMPONENT_TAG_DESC = Type.getMethodDescriptor(AbstractComponentContainer.class.getMethod("takeComponentTag", NbtCompound.class, String.class));
+            FINISH_READING_DESC = Type.getMethodDescriptor(AbstractComponentContainer.class.getMethod("finishReading", NbtCompound.class));
+            PUT_COMPONENT_TAG_DESC = Type.getMethodDescriptor(AbstractComponentContainer.class.getMethod("putComponentTag", NbtCompound.class, NbtCompound.class, String.class, NbtCompound.class));
+            RECYCLE_COMPONENT_TAG_DESC = Type.getMethodDescriptor(AbstractComponentContainer.class.getMethod("recycleComponentTag", NbtCompound.class));
         } catch (NoSuchMethodException e) {
             throw new IllegalStateException("Failed to find one or more method descriptors", e);
         }
@@ -285,6 +310,48 @@ public final class CcaAsmHelper {
             callbackMethods.put(callbackInfo, visitor);
         }
 
+        /* serialization and copy implementations, see AbstractComponentContainer for the reference implementation */
+        // locals: <this> tag registryLookup componentMap componentTag
+        MethodVisitor toTag = classNode.visitMethod(Opcodes.ACC_PUBLIC, "toTag", CONTAINER_TO_TAG_DESC, null, null);
+        toTag.visitCode();
+        toTag.visitInsn(Opcodes.ACONST_NULL);
+        toTag.visitVarInsn(Opcodes.ASTORE, 3);
+        toTag.visitTypeInsn(Opcodes.NEW, NBT_COMPOUND);
+        toTag.visitInsn(Opcodes.DUP);
+        toTag.visitMethodInsn(Opcodes.INVOKESPECIAL, NBT_COMPOUND, "<init>", "()V", false);
+        toTag.visitVarInsn(Opcodes.ASTORE, 4);
+
+        // locals: <this> tag registryLookup componentMap componentTag
+        MethodVisitor fromTag = classNode.visitMethod(Opcodes.ACC_PUBLIC, "fromTag", CONTAINER_FROM_TAG_DESC, null, null);
+        Label fromTagEnd = new Label();
+        fromTag.visitCode();
+        fromTag.visitVarInsn(Opcodes.ALOAD, 0);
+        fromTag.visitVarInsn(Opcodes.ALOAD, 1);
+        fromTag.visitVarInsn(Opcodes.ALOAD, 2);
+        fromTag.visitMethodInsn(Opcodes.INVOKESTATIC, DYNAMIC_COMPONENT_CONTAINER_IMPL, "getComponentMapForReading", GET_COMPONENT_MAP_DESC, false);
+        // stack: componentMap
+        fromTag.visitVarInsn(Opcodes.ASTORE, 3);
+        fromTag.visitVarInsn(Opcodes.ALOAD, 3);
+        fromTag.visitJumpInsn(Opcodes.IFNULL, fromTagEnd);
+
+        // locals: <this> other registryLookup otherImpl
+        MethodVisitor copyFrom = classNode.visitMethod(Opcodes.ACC_PUBLIC, "copyFrom", CONTAINER_COPY_FROM_DESC, null, null);
+        Label sameContainerType = new Label();
+        copyFrom.visitCode();
+        copyFrom.visitVarInsn(Opcodes.ALOAD, 1);
+        copyFrom.visitTypeInsn(Opcodes.INSTANCEOF, containerImplName);
+        copyFrom.visitJumpInsn(Opcodes.IFNE, sameContainerType);
+        // other containers may hold a different set of components, use the generic implementation
+        copyFrom.visitVarInsn(Opcodes.ALOAD, 0);
+        copyFrom.visitVarInsn(Opcodes.ALOAD, 1);
+        copyFrom.visitVarInsn(Opcodes.ALOAD, 2);
+        copyFrom.visitMethodInsn(Opcodes.INVOKESPECIAL, STATIC_COMPONENT_CONTAINER, "copyFrom", CONTAINER_COPY_FROM_DESC, false);
+        copyFrom.visitInsn(Opcodes.RETURN);
+        copyFrom.visitLabel(sameContainerType);
+        copyFrom.visitVarInsn(Opcodes.ALOAD, 1);
+        copyFrom.visitTypeInsn(Opcodes.CHECKCAST, containerImplName);
+        copyFrom.visitVarInsn(Opcodes.ASTORE, 3);
+
         for (var entry : sorted.entrySet()) {
             Identifier identifier = entry.getKey().getId();
             String componentFieldName = getJavaIdentifierName(identifier);
@@ -358,17 +425,41 @@ public final class CcaAsmHelper {
                     );
                 }
             }
+
+            generateSerializationImpl(containerImplName, toTag, fromTag, identifier.toString(), componentFieldName, impl, componentFieldDescriptor);
+
+            /* copyFrom implementation */
+            copyFrom.visitVarInsn(Opcodes.ALOAD, 0);
+            copyFrom.visitFieldInsn(Opcodes.GETFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
+            copyFrom.visitVarInsn(Opcodes.ALOAD, 3);
+            copyFrom.visitFieldInsn(Opcodes.GETFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
+            copyFrom.visitVarInsn(Opcodes.ALOAD, 2);
+            // stack: ours theirs registryLookup
+            copyFrom.visitMethodInsn(Opcodes.INVOKESTATIC, DYNAMIC_COMPONENT_CONTAINER_IMPL, "copyComponent", COPY_COMPONENT_DESC, false);
         }
         init.visitInsn(Opcodes.RETURN);
         init.visitEnd();
 
+        toTag.visitVarInsn(Opcodes.ALOAD, 1);
+        toTag.visitInsn(Opcodes.ARETURN);
+        toTag.visitEnd();
+
+        fromTag.visitVarInsn(Opcodes.ALOAD, 3);
+        fromTag.visitMethodInsn(Opcodes.INVOKESTATIC, DYNAMIC_COMPONENT_CONTAINER_IMPL, "finishReading", FINISH_READING_DESC, false);
+        fromTag.visitLabel(fromTagEnd);
+        fromTag.visitInsn(Opcodes.RETURN);
+        fromTag.visitEnd();
+
+        copyFrom.visitInsn(Opcodes.RETURN);
+        copyFrom.visitEnd();
+
         for (var e : callbackMethods.entrySet()) {
             e.getValue().visitInsn(Opcodes.RETURN);
             e.getValue().visitEnd();
         }
 
         Object[] classData = new Object[sorted.size() + 1];
-        classData[0] = Collections.unmodifiableSet(new ReferenceArraySet<>(sorted.keySet()));
+        classData[0] = ComponentKeySet.of(sorted.keySet());
         // On class init, we pull out the class data and put it in the proper fields
         MethodVisitor clinit = classNode.visitMethod(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
         clinit.visitCode();
@@ -423,6 +514,46 @@ public final class CcaAsmHelper {
         }
     }
 
+    private static void generateSerializationImpl(String containerImplName, MethodVisitor toTag, MethodVisitor fromTag, String keyId, String componentFieldName, Class<? extends Component> impl, String componentFieldDescriptor) {
+        int invokeOpcode = impl.isInterface() ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL;
+        String implName = Type.getInternalName(impl);
+
+        /* toTag */
+        toTag.visitVarInsn(Opcodes.ALOAD, 0);
+        toTag.visitFieldInsn(Opcodes.GETFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
+        toTag.visitVarInsn(Opcodes.ALOAD, 4);
+        toTag.visitVarInsn(Opcodes.ALOAD, 2);
+        // stack: component componentTag registryLookup
+        toTag.visitMethodInsn(invokeOpcode, implName, "writeToNbt", COMPONENT_WRITE_TO_NBT_DESC, impl.isInterface());
+        toTag.visitVarInsn(Opcodes.ALOAD, 1);
+        toTag.visitVarInsn(Opcodes.ALOAD, 3);
+        toTag.visitLdcInsn(keyId);
+        toTag.visitVarInsn(Opcodes.ALOAD, 4);
+        // stack: tag componentMap keyId componentTag
+        toTag.visitMethodInsn(Opcodes.INVOKESTATIC, DYNAMIC_COMPONENT_CONTAINER_IMPL, "putComponentTag", PUT_COMPONENT_TAG_DESC, false);
+        toTag.visitVarInsn(Opcodes.ASTORE, 3);
+        toTag.visitVarInsn(Opcodes.ALOAD, 4);
+        toTag.visitMethodInsn(Opcodes.INVOKESTATIC, DYNAMIC_COMPONENT_CONTAINER_IMPL, "recycleComponentTag", RECYCLE_COMPONENT_TAG_DESC, false);
+        toTag.visitVarInsn(Opcodes.ASTORE, 4);
+
+        /* fromTag */
+        Label absent = new Label();
+        fromTag.visitVarInsn(Opcodes.ALOAD, 3);
+        fromTag.visitLdcInsn(keyId);
+        fromTag.visitMethodInsn(Opcodes.INVOKESTATIC, DYNAMIC_COMPONENT_CONTAINER_IMPL, "takeComponentTag", TAKE_COMPONENT_TAG_DESC, false);
+        // stack: componentTag
+        fromTag.visitVarInsn(Opcodes.ASTORE, 4);
+        fromTag.visitVarInsn(Opcodes.ALOAD, 4);
+        fromTag.visitJumpInsn(Opcodes.IFNULL, absent);
+        fromTag.visitVarInsn(Opcodes.ALOAD, 0);
+        fromTag.visitFieldInsn(Opcodes.GETFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
+        fromTag.visitVarInsn(Opcodes.ALOAD, 4);
+        fromTag.visitVarInsn(Opcodes.ALOAD, 2);
+        // stack: component componentTag registryLookup
+        fromTag.visitMethodInsn(invokeOpcode, implName, "readFromNbt", COMPONENT_READ_FROM_NBT_DESC, impl.isInterface());
+        fromTag.visitLabel(absent);
+    }
+
     private static String getFactoryFieldName(Identifier identifier) {
         return getJavaIdentifierName(identifier) + "$factory";
     }
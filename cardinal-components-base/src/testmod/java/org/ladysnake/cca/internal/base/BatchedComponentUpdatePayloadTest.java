@@ -0,0 +1,67 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.test.GameTest;
+import org.junit.Assert;
+import org.ladysnake.cca.test.base.CardinalGameTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchedComponentUpdatePayloadTest implements CardinalGameTest {
+    private static final int MAX = BatchedComponentUpdatePayload.MAX_DATA_SIZE;
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void keepsSmallBatchesWhole() {
+        Assert.assertEquals(List.of(List.of(10, 20, 30)), split(List.of(10, 20, 30)));
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void splitsBeforeSizeLimit() {
+        Assert.assertEquals(
+            List.of(List.of(MAX / 2, MAX / 2), List.of(1)),
+            split(List.of(MAX / 2, MAX / 2, 1))
+        );
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void sendsOversizedItemsAlone() {
+        Assert.assertEquals(
+            List.of(List.of(10), List.of(MAX + 1), List.of(10)),
+            split(List.of(10, MAX + 1, 10))
+        );
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void skipsEmptyBatches() {
+        Assert.assertEquals(List.of(), split(List.of()));
+    }
+
+    private static List<List<Integer>> split(List<Integer> sizes) {
+        List<List<Integer>> batches = new ArrayList<>();
+        BatchedComponentUpdatePayload.split(sizes, Integer::intValue, batches::add);
+        return batches;
+    }
+}
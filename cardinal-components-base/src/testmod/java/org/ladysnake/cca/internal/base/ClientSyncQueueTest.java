@@ -0,0 +1,155 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.test.GameTest;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Assert;
+import org.ladysnake.cca.test.base.CardinalGameTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+public class ClientSyncQueueTest implements CardinalGameTest {
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void updatesKeepPacketOrder() {
+        Object world = new Object();
+        List<String> applied = new ArrayList<>();
+        ClientSyncQueue.onClientTask();
+        ClientSyncQueue.receive(null, world, new TestUpdate(applied, "first"));
+        ClientSyncQueue.onClientTask();
+        applied.add("vanilla");
+        ClientSyncQueue.onClientTask();
+        ClientSyncQueue.receive(null, world, new TestUpdate(applied, "second"));
+        Assert.assertEquals(List.of("first", "vanilla", "second"), applied);
+        ClientSyncQueue.endFrame(world);
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void consecutiveUpdatesShareResolution() {
+        Object world = new Object();
+        Object resolver = new Object();
+        int[] lookups = {0};
+        BooleanSupplier resolve = () -> ClientSyncQueue.resolve(resolver, "target", () -> ++lookups[0]) != null;
+        ClientSyncQueue.onClientTask();
+        ClientSyncQueue.receive(null, world, new TestUpdate(new ArrayList<>(), "first", resolve, null));
+        ClientSyncQueue.onClientTask();
+        ClientSyncQueue.receive(null, world, new TestUpdate(new ArrayList<>(), "second", resolve, null));
+        Assert.assertEquals("Consecutive updates should share target resolution", 1, lookups[0]);
+        ClientSyncQueue.onClientTask();     // another packet gets handled in between
+        ClientSyncQueue.onClientTask();
+        ClientSyncQueue.receive(null, world, new TestUpdate(new ArrayList<>(), "third", resolve, null));
+        Assert.assertEquals("Other packets should clear resolved targets", 2, lookups[0]);
+        ClientSyncQueue.endFrame(world);
+        ClientSyncQueue.onClientTask();
+        ClientSyncQueue.receive(null, world, new TestUpdate(new ArrayList<>(), "fourth", resolve, null));
+        Assert.assertEquals("Resolved targets should not outlive the frame", 3, lookups[0]);
+        ClientSyncQueue.endFrame(world);
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void heldBackUpdatesApplyOnceLoaded() {
+        Object world = new Object();
+        Object target = new Object();
+        List<String> applied = new ArrayList<>();
+        boolean[] loaded = {false};
+        ClientSyncQueue.endFrame(world);
+        TestUpdate first = new TestUpdate(applied, "first", () -> loaded[0], target);
+        TestUpdate second = new TestUpdate(applied, "second", () -> loaded[0], target);
+        ClientSyncQueue.receive(null, world, first);
+        ClientSyncQueue.receive(null, world, second);
+        Assert.assertTrue("Updates for missing targets should be held back", applied.isEmpty());
+        Assert.assertFalse(first.released);
+        loaded[0] = true;
+        ClientSyncQueue.onTargetLoaded(target, world);
+        Assert.assertEquals(List.of("first", "second"), applied);
+        Assert.assertTrue(first.released && second.released);
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void heldBackUpdatesDropOnWorldChange() {
+        Object world = new Object();
+        Object target = new Object();
+        List<String> applied = new ArrayList<>();
+        boolean[] loaded = {false};
+        ClientSyncQueue.endFrame(world);
+        TestUpdate update = new TestUpdate(applied, "update", () -> loaded[0], target);
+        ClientSyncQueue.receive(null, world, update);
+        Assert.assertFalse(update.released);
+        ClientSyncQueue.endFrame(new Object());
+        Assert.assertTrue("Held back updates should be released when the world changes", update.released);
+        loaded[0] = true;
+        ClientSyncQueue.onTargetLoaded(target, world);
+        Assert.assertTrue("Held back updates should not apply after the world changed", applied.isEmpty());
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void updatesWithoutWorldAreDropped() {
+        List<String> applied = new ArrayList<>();
+        TestUpdate update = new TestUpdate(applied, "update");
+        ClientSyncQueue.receive(null, null, update);
+        Assert.assertTrue(applied.isEmpty());
+        Assert.assertTrue(update.released);
+    }
+
+    private static final class TestUpdate implements ClientSyncQueue.Update {
+        private final List<String> applied;
+        private final String name;
+        private final BooleanSupplier targetLoaded;
+        private final @Nullable Object bufferKey;
+        boolean released;
+
+        TestUpdate(List<String> applied, String name) {
+            this(applied, name, () -> true, null);
+        }
+
+        TestUpdate(List<String> applied, String name, BooleanSupplier targetLoaded, @Nullable Object bufferKey) {
+            this.applied = applied;
+            this.name = name;
+            this.targetLoaded = targetLoaded;
+            this.bufferKey = bufferKey;
+        }
+
+        @Override
+        public boolean apply(ClientPlayNetworking.Context ctx) {
+            if (this.released) throw new IllegalStateException("Applied a released update");
+            if (!this.targetLoaded.getAsBoolean()) return false;
+            this.applied.add(this.name);
+            return true;
+        }
+
+        @Override
+        public @Nullable Object getBufferKey() {
+            return this.bufferKey;
+        }
+
+        @Override
+        public void release() {
+            this.released = true;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.test.GameTest;
+import org.junit.Assert;
+import org.ladysnake.cca.api.v3.component.Component;
+import org.ladysnake.cca.api.v3.component.FieldCopyableComponent;
+import org.ladysnake.cca.test.base.CardinalGameTest;
+
+import java.util.List;
+
+public class ComponentFieldCopierTest implements CardinalGameTest {
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void copiesMutableFields() {
+        Object owner1 = new Object();
+        Object owner2 = new Object();
+        TestComponent from = new TestComponent(owner1);
+        from.count = 3;
+        from.name = "test";
+        from.values = List.of(1, 2);
+        from.cache = 42;
+        TestComponent to = new TestComponent(owner2);
+        to.copyFrom(from, null);
+        Assert.assertEquals(3, to.count);
+        Assert.assertEquals("test", to.name);
+        Assert.assertEquals(List.of(1, 2), to.values);
+        Assert.assertEquals(0, to.cache);
+        Assert.assertSame(owner2, to.owner);
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void fallsBackToNbtForOtherClasses() {
+        TestComponent from = new TestComponent(new Object());
+        from.count = 5;
+        TestComponent to = new TestComponent(new Object()) {};
+        to.copyFrom(from, null);
+        Assert.assertEquals(5, to.count);
+    }
+
+    public static class BaseTestComponent implements Component {
+        int count;
+
+        @Override
+        public void readFromNbt(NbtCompound tag, RegistryWrapper.WrapperLookup registryLookup) {
+            this.count = tag.getInt("count");
+        }
+
+        @Override
+        public void writeToNbt(NbtCompound tag, RegistryWrapper.WrapperLookup registryLookup) {
+            tag.putInt("count", this.count);
+        }
+    }
+
+    public static class TestComponent extends BaseTestComponent implements FieldCopyableComponent<TestComponent> {
+        final Object owner;
+        String name;
+        List<Integer> values = List.of();
+        transient int cache;
+
+        public TestComponent(Object owner) {
+            this.owner = owner;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.test.GameTest;
+import org.junit.Assert;
+import org.ladysnake.cca.test.base.CardinalGameTest;
+import org.ladysnake.cca.test.base.LoadAwareTestComponent;
+import org.ladysnake.cca.test.base.TickingTestComponent;
+import org.ladysnake.cca.test.base.Vita;
+
+import java.util.List;
+
+public class ComponentKeySetTest implements CardinalGameTest {
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void testsMembership() {
+        ComponentKeySet set = ComponentKeySet.of(List.of(Vita.KEY, TickingTestComponent.KEY));
+        Assert.assertTrue(set.contains(Vita.KEY));
+        Assert.assertTrue(set.contains(TickingTestComponent.KEY));
+        Assert.assertFalse(set.contains(LoadAwareTestComponent.KEY));
+        Assert.assertFalse(set.contains("vita"));
+        Assert.assertEquals(List.of(Vita.KEY, TickingTestComponent.KEY), List.copyOf(set));
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void intersectsInOrder() {
+        ComponentKeySet a = ComponentKeySet.of(List.of(LoadAwareTestComponent.KEY, Vita.KEY, TickingTestComponent.KEY));
+        ComponentKeySet b = ComponentKeySet.of(List.of(TickingTestComponent.KEY, LoadAwareTestComponent.KEY));
+        Assert.assertEquals(List.of(LoadAwareTestComponent.KEY, TickingTestComponent.KEY), List.copyOf(a.intersection(b)));
+        Assert.assertTrue(a.containsAll(b));
+        Assert.assertFalse(b.containsAll(a));
+        Assert.assertTrue(a.intersection(ComponentKeySet.of(List.of())).isEmpty());
+    }
+}
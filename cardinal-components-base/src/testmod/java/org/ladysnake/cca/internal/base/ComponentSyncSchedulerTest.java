@@ -0,0 +1,242 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import net.fabricmc.fabric.api.entity.FakePlayer;
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.test.GameTest;
+import net.minecraft.util.Identifier;
+import org.junit.Assert;
+import org.ladysnake.cca.api.v3.component.ComponentContainer;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.api.v3.component.ComponentProvider;
+import org.ladysnake.cca.api.v3.component.ComponentRegistry;
+import org.ladysnake.cca.api.v3.component.TransientComponent;
+import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
+import org.ladysnake.cca.api.v3.component.sync.ComponentPacketWriter;
+import org.ladysnake.cca.api.v3.component.sync.PlayerSyncPredicate;
+import org.ladysnake.cca.api.v3.component.sync.SyncInterest;
+import org.ladysnake.cca.api.v3.component.sync.SyncRateLimit;
+import org.ladysnake.cca.test.base.CardinalGameTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ComponentSyncSchedulerTest implements CardinalGameTest {
+    private static final ComponentKey<TestComponent> INTEREST_KEY = ComponentRegistry.getOrCreate(Identifier.of("cca-base-test", "scheduled_interest"), TestComponent.class);
+    private static final ComponentKey<TestComponent> INTERVAL_KEY = ComponentRegistry.getOrCreate(Identifier.of("cca-base-test", "scheduled_interval"), TestComponent.class);
+    private static final ComponentKey<TestComponent> BYTE_RATE_KEY = ComponentRegistry.getOrCreate(Identifier.of("cca-base-test", "scheduled_byte_rate"), TestComponent.class);
+    private static final long START = 100;
+
+    static {
+        INTEREST_KEY.setSyncInterest(SyncInterest.withinRadius(32).throttledBeyond(16, 10));
+        INTERVAL_KEY.setSyncRateLimit(SyncRateLimit.everyTicks(5));
+        // 100 byte updates use up 10 ticks of budget
+        BYTE_RATE_KEY.setSyncRateLimit(SyncRateLimit.bytesPerSecond(200));
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void coalescesUpdatesUntilDue() {
+        ComponentSyncScheduler.clear();
+        TestSender sender = new TestSender();
+        TestProvider provider = new TestProvider(createPlayer());
+        try {
+            sync(INTERVAL_KEY, provider, START, sender);
+            Assert.assertEquals("The first update should go out right away", 1, sender.sent.size());
+            sync(INTERVAL_KEY, provider, START + 1, sender);
+            sync(INTERVAL_KEY, provider, START + 2, sender);
+            ComponentSyncScheduler.flush(START + 4, sender);
+            Assert.assertEquals("Updates should be held back until the interval is over", 1, sender.sent.size());
+            ComponentSyncScheduler.flush(START + 5, sender);
+            Assert.assertEquals("Held back updates should be coalesced into a single full sync", List.of("partial", "full"), sender.sent);
+        } finally {
+            ComponentSyncScheduler.clear();
+        }
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void dropsCleanSlots() {
+        ComponentSyncScheduler.clear();
+        TestSender sender = new TestSender();
+        TestProvider provider = new TestProvider(createPlayer());
+        try {
+            sync(INTERVAL_KEY, provider, START, sender);
+            ComponentSyncScheduler.flush(START + 5, sender);
+            Assert.assertEquals("Nothing should be sent without new updates", 1, sender.sent.size());
+            sync(INTERVAL_KEY, provider, START + 6, sender);
+            Assert.assertEquals("Updates after a quiet interval should go out right away", List.of("partial", "partial"), sender.sent);
+        } finally {
+            ComponentSyncScheduler.clear();
+        }
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void catchesUpOnceBackInRange() {
+        ComponentSyncScheduler.clear();
+        TestSender sender = new TestSender();
+        TestProvider provider = new TestProvider(createPlayer());
+        try {
+            provider.squaredDistance = 40 * 40;
+            sync(INTEREST_KEY, provider, START, sender);
+            Assert.assertTrue("Players out of range should not get updates", sender.sent.isEmpty());
+            ComponentSyncScheduler.flush(START + 20, sender);
+            Assert.assertTrue("Players still out of range should not get updates", sender.sent.isEmpty());
+            provider.squaredDistance = 8 * 8;
+            ComponentSyncScheduler.flush(START + 39, sender);
+            Assert.assertTrue("Range should only be checked again after a while", sender.sent.isEmpty());
+            ComponentSyncScheduler.flush(START + 40, sender);
+            Assert.assertEquals("Players back in range should get a full sync", List.of("full"), sender.sent);
+        } finally {
+            ComponentSyncScheduler.clear();
+        }
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void throttlesDistantPlayers() {
+        ComponentSyncScheduler.clear();
+        TestSender sender = new TestSender();
+        TestProvider provider = new TestProvider(createPlayer());
+        try {
+            provider.squaredDistance = 20 * 20;
+            sync(INTEREST_KEY, provider, START, sender);
+            sync(INTEREST_KEY, provider, START + 1, sender);
+            ComponentSyncScheduler.flush(START + 9, sender);
+            Assert.assertEquals(List.of("partial"), sender.sent);
+            ComponentSyncScheduler.flush(START + 10, sender);
+            Assert.assertEquals("Distant players should get updates at their tier's interval", List.of("partial", "full"), sender.sent);
+        } finally {
+            ComponentSyncScheduler.clear();
+        }
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void dropsSlotsOfFormerRecipients() {
+        ComponentSyncScheduler.clear();
+        TestSender sender = new TestSender();
+        ServerPlayerEntity player = createPlayer();
+        TestProvider provider = new TestProvider(player);
+        try {
+            sync(INTERVAL_KEY, provider, START, sender);
+            sync(INTERVAL_KEY, provider, START + 1, sender);
+            provider.recipients.clear();
+            ComponentSyncScheduler.flush(START + 5, sender);
+            Assert.assertEquals("Players that stopped tracking the provider should not get held back updates", 1, sender.sent.size());
+            provider.recipients.add(player);
+            sync(INTERVAL_KEY, provider, START + 6, sender);
+            Assert.assertEquals("Dropped slots should not hold back later updates", List.of("partial", "partial"), sender.sent);
+        } finally {
+            ComponentSyncScheduler.clear();
+        }
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void sharesByteBudgetAcrossProviders() {
+        ComponentSyncScheduler.clear();
+        TestSender sender = new TestSender();
+        ServerPlayerEntity player = createPlayer();
+        TestProvider first = new TestProvider(player);
+        TestProvider second = new TestProvider(player);
+        try {
+            sync(BYTE_RATE_KEY, first, START, sender);
+            sync(BYTE_RATE_KEY, second, START + 1, sender);
+            Assert.assertEquals("Updates over the player's byte budget should be held back, whatever their provider", 1, sender.sent.size());
+            ComponentSyncScheduler.flush(START + 9, sender);
+            Assert.assertEquals(1, sender.sent.size());
+            ComponentSyncScheduler.flush(START + 10, sender);
+            Assert.assertEquals("Held back updates should be sent once the budget allows it", List.of("partial", "full"), sender.sent);
+            sync(BYTE_RATE_KEY, first, START + 11, sender);
+            Assert.assertEquals("Updates sent from held back slots should spend the budget too", 2, sender.sent.size());
+        } finally {
+            ComponentSyncScheduler.clear();
+        }
+    }
+
+    private static void sync(ComponentKey<TestComponent> key, TestProvider provider, long now, TestSender sender) {
+        ComponentSyncScheduler.sync(provider.recipients.getFirst(), key, provider, TestComponent.INSTANCE, TestComponent.INSTANCE, now, sender);
+    }
+
+    private static ServerPlayerEntity createPlayer() {
+        MinecraftServer server = (MinecraftServer) FabricLoader.getInstance().getGameInstance();
+        return FakePlayer.get(server.getOverworld());
+    }
+
+    private static final class TestSender implements ComponentSyncScheduler.Sender {
+        private static final int SIZE = 100;
+
+        final List<String> sent = new ArrayList<>();
+
+        @Override
+        public int send(ServerPlayerEntity player, ComponentKey<?> key, ComponentProvider provider, ComponentPacketWriter writer, PlayerSyncPredicate predicate) {
+            this.sent.add("partial");
+            return SIZE;
+        }
+
+        @Override
+        public int sendFull(ServerPlayerEntity player, ComponentKey<?> key, ComponentProvider provider) {
+            this.sent.add("full");
+            return SIZE;
+        }
+    }
+
+    private static final class TestProvider implements ComponentProvider {
+        final List<ServerPlayerEntity> recipients = new ArrayList<>();
+        double squaredDistance;
+
+        TestProvider(ServerPlayerEntity player) {
+            this.recipients.add(player);
+        }
+
+        @Override
+        public ComponentContainer getComponentContainer() {
+            return ComponentContainer.EMPTY;
+        }
+
+        @Override
+        public Iterable<ServerPlayerEntity> getRecipientsForComponentSync() {
+            return this.recipients;
+        }
+
+        @Override
+        public double getSquaredSyncDistance(ServerPlayerEntity player) {
+            return this.squaredDistance;
+        }
+    }
+
+    public static final class TestComponent implements AutoSyncedComponent, TransientComponent {
+        static final TestComponent INSTANCE = new TestComponent();
+
+        @Override
+        public void writeSyncPacket(RegistryByteBuf buf, ServerPlayerEntity recipient) {
+            // Nothing to write
+        }
+
+        @Override
+        public void applySyncPacket(RegistryByteBuf buf) {
+            // Nothing to read
+        }
+    }
+}
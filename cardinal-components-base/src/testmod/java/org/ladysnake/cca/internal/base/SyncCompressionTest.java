@@ -0,0 +1,87 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.test.GameTest;
+import org.junit.Assert;
+import org.ladysnake.cca.test.base.CardinalGameTest;
+import org.ladysnake.cca.test.base.TickingTestComponent;
+
+public class SyncCompressionTest implements CardinalGameTest {
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void roundTripsLargeData() {
+        byte[] data = new byte[4096];
+        for (int i = 0; i < data.length; i++) data[i] = (byte) (i % 7);
+        RegistryByteBuf out = roundTrip(data, 256);
+        Assert.assertTrue("Data should have been compressed", out.writerIndex() < data.length / 2);
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void roundTripsWithDictionary() {
+        byte[] dictionary = "cardinal-components:test".getBytes();
+        TickingTestComponent.KEY.setSyncCompressionDictionary(dictionary);
+        try {
+            byte[] data = new byte[1024];
+            for (int i = 0; i < data.length; i++) data[i] = dictionary[i % dictionary.length];
+            roundTrip(data, 0);
+        } finally {
+            TickingTestComponent.KEY.setSyncCompressionDictionary(null);
+        }
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void leavesSmallDataUncompressed() {
+        byte[] data = {1, 2, 3};
+        RegistryByteBuf out = roundTrip(data, 256);
+        Assert.assertEquals(data.length + 1, out.writerIndex());
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void rejectsTruncatedData() {
+        RegistryByteBuf compressed = new RegistryByteBuf(Unpooled.buffer(), DynamicRegistryManager.EMPTY);
+        compressed.writeVarInt(1024 << 1 | 1);
+        compressed.writeVarInt(Integer.MAX_VALUE);
+        compressed.writeBytes(new byte[16]);
+        Assert.assertThrows(DecoderException.class, () -> SyncCompression.read(compressed, TickingTestComponent.KEY.getId()));
+        RegistryByteBuf uncompressed = new RegistryByteBuf(Unpooled.buffer(), DynamicRegistryManager.EMPTY);
+        uncompressed.writeVarInt(Integer.MAX_VALUE << 1);
+        uncompressed.writeBytes(new byte[16]);
+        Assert.assertThrows(DecoderException.class, () -> SyncCompression.read(uncompressed, TickingTestComponent.KEY.getId()));
+    }
+
+    private static RegistryByteBuf roundTrip(byte[] data, int threshold) {
+        RegistryByteBuf out = new RegistryByteBuf(Unpooled.buffer(), DynamicRegistryManager.EMPTY);
+        SyncCompression.write(out, TickingTestComponent.KEY.getId(), Unpooled.wrappedBuffer(data), threshold);
+        RegistryByteBuf in = SyncCompression.read(new RegistryByteBuf(out.copy(), DynamicRegistryManager.EMPTY), TickingTestComponent.KEY.getId());
+        byte[] read = new byte[in.readableBytes()];
+        in.readBytes(read);
+        Assert.assertArrayEquals(data, read);
+        return out;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.test.GameTest;
+import org.junit.Assert;
+import org.ladysnake.cca.api.v3.component.sync.SyncInterest;
+import org.ladysnake.cca.test.base.CardinalGameTest;
+
+public class SyncInterestTest implements CardinalGameTest {
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void picksFurthestTier() {
+        SyncInterest interest = SyncInterest.withinRadius(64).throttledBeyond(48, 20).throttledBeyond(16, 5);
+        Assert.assertEquals(1, interest.getSyncInterval(0));
+        Assert.assertEquals(1, interest.getSyncInterval(16 * 16));
+        Assert.assertEquals(5, interest.getSyncInterval(17 * 17));
+        Assert.assertEquals(20, interest.getSyncInterval(50 * 50));
+        Assert.assertTrue(interest.isInRange(64 * 64));
+        Assert.assertFalse(interest.isInRange(65 * 65));
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void unlimitedCoversEverything() {
+        Assert.assertTrue(SyncInterest.UNLIMITED.isInRange(Double.MAX_VALUE));
+        Assert.assertEquals(1, SyncInterest.UNLIMITED.getSyncInterval(Double.MAX_VALUE));
+        Assert.assertEquals(10, SyncInterest.UNLIMITED.throttledBeyond(32, 10).getSyncInterval(Double.MAX_VALUE));
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void rejectsInvalidTiers() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> SyncInterest.withinRadius(0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> SyncInterest.withinRadius(32).throttledBeyond(32, 5));
+        Assert.assertThrows(IllegalArgumentException.class, () -> SyncInterest.withinRadius(32).throttledBeyond(8, 0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> SyncInterest.withinRadius(32).throttledBeyond(8, 5).throttledBeyond(8, 10));
+    }
+
+}
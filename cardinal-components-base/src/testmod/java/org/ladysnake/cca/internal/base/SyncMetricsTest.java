@@ -0,0 +1,140 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import net.fabricmc.fabric.api.entity.FakePlayer;
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.test.GameTest;
+import net.minecraft.util.Unit;
+import org.junit.Assert;
+import org.ladysnake.cca.api.v3.component.ComponentContainer;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.api.v3.component.ComponentProvider;
+import org.ladysnake.cca.api.v3.component.TransientComponent;
+import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
+import org.ladysnake.cca.api.v3.component.sync.SyncMetricsSample;
+import org.ladysnake.cca.test.base.CardinalGameTest;
+import org.ladysnake.cca.test.base.TickingTestComponent;
+
+import java.util.List;
+
+public class SyncMetricsTest implements CardinalGameTest {
+    private static final String PROVIDER_TYPE = "TestProvider";
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void countsEverySync() {
+        ServerPlayerEntity player = createPlayer();
+        TestProvider provider = new TestProvider(player);
+        TestComponent component = new TestComponent(true);
+        SyncMetricsSample before = getSample();
+        TickingTestComponent.KEY.syncWith(player, provider, component, component);
+        TickingTestComponent.KEY.sync(provider, component, component);
+        SyncMetricsSample after = getSample();
+        long updates = after.updates() - before.updates();
+        long suppressed = after.suppressed() - before.suppressed();
+        Assert.assertEquals("Every sync should be counted, whether or not the client can handle it", 2, updates + suppressed);
+        Assert.assertEquals("Every update sent should count its size", updates * TestComponent.SIZE, after.bytes() - before.bytes());
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void ignoresFilteredPlayers() {
+        ServerPlayerEntity player = createPlayer();
+        TestProvider provider = new TestProvider(player);
+        TestComponent component = new TestComponent(false);
+        SyncMetricsSample before = getSample();
+        TickingTestComponent.KEY.syncWith(player, provider, component, component);
+        TickingTestComponent.KEY.sync(provider, component, component);
+        SyncMetricsSample after = getSample();
+        Assert.assertEquals(before.updates(), after.updates());
+        Assert.assertEquals(before.suppressed(), after.suppressed());
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void estimatesSkippedBytes() {
+        ServerPlayerEntity player = createPlayer();
+        TestProvider provider = new TestProvider(player);
+        SyncMetrics.recordUpdate(TickingTestComponent.KEY, provider, TestComponent.SIZE, 0);
+        SyncMetricsSample before = getSample();
+        SyncMetrics.recordSkipped(TickingTestComponent.KEY, provider, 2);
+        SyncMetricsSample after = getSample();
+        Assert.assertEquals(2, after.skipped() - before.skipped());
+        Assert.assertEquals("Skipped resends should be estimated from the latest update's size", 2L * TestComponent.SIZE, after.skippedBytes() - before.skippedBytes());
+    }
+
+    private static ServerPlayerEntity createPlayer() {
+        MinecraftServer server = (MinecraftServer) FabricLoader.getInstance().getGameInstance();
+        return FakePlayer.get(server.getOverworld());
+    }
+
+    private static SyncMetricsSample getSample() {
+        return SyncMetrics.getWindowTotals().stream()
+            .filter(s -> s.key() == TickingTestComponent.KEY && s.providerType().equals(PROVIDER_TYPE))
+            .findFirst()
+            .orElseGet(() -> new SyncMetricsSample(TickingTestComponent.KEY, PROVIDER_TYPE, 0, 0, 0, 0, 0, 0));
+    }
+
+    private record TestProvider(ServerPlayerEntity player) implements ComponentProvider {
+        @Override
+        public ComponentContainer getComponentContainer() {
+            return ComponentContainer.EMPTY;
+        }
+
+        @Override
+        public Iterable<ServerPlayerEntity> getRecipientsForComponentSync() {
+            return List.of(this.player);
+        }
+
+        @Override
+        public <C extends AutoSyncedComponent> ComponentUpdatePayload<?> toComponentPacket(ComponentKey<? super C> key, boolean required, RegistryByteBuf data) {
+            return new ComponentUpdatePayload<>(ComponentUpdatePayload.id("test_sync"), Unit.INSTANCE, required, key.getId(), data);
+        }
+    }
+
+    private record TestComponent(boolean shouldSync) implements AutoSyncedComponent, TransientComponent {
+        static final int SIZE = 3;
+
+        @Override
+        public boolean shouldSyncWith(ServerPlayerEntity player) {
+            return this.shouldSync;
+        }
+
+        @Override
+        public boolean isRequiredOnClient() {
+            return false;
+        }
+
+        @Override
+        public void writeSyncPacket(RegistryByteBuf buf, ServerPlayerEntity recipient) {
+            buf.writeBytes(new byte[SIZE]);
+        }
+
+        @Override
+        public void applySyncPacket(RegistryByteBuf buf) {
+            // Nothing to read
+        }
+    }
+}
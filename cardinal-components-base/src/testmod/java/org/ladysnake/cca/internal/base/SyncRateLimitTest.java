@@ -0,0 +1,43 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.base;
+
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.test.GameTest;
+import org.junit.Assert;
+import org.ladysnake.cca.api.v3.component.sync.SyncRateLimit;
+import org.ladysnake.cca.test.base.CardinalGameTest;
+
+public class SyncRateLimitTest implements CardinalGameTest {
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void rateLimitsSpendByteBudget() {
+        SyncRateLimit limit = SyncRateLimit.everyTicks(4).withMaxBytesPerSecond(1000);
+        Assert.assertEquals(4, limit.getMinInterval());
+        Assert.assertEquals(2, limit.getBudgetTicks(100));
+        Assert.assertEquals(1, limit.getBudgetTicks(1));
+        Assert.assertEquals(0, SyncRateLimit.NONE.getBudgetTicks(100_000));
+        Assert.assertThrows(IllegalArgumentException.class, () -> SyncRateLimit.everyTicks(0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> SyncRateLimit.bytesPerSecond(0));
+    }
+}
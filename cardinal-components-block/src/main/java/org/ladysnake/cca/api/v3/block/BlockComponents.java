@@ -23,12 +23,18 @@
 package org.ladysnake.cca.api.v3.block;
 
 import net.fabricmc.fabric.api.lookup.v1.block.BlockApiLookup;
+import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import org.jetbrains.annotations.ApiStatus;
 import org.ladysnake.cca.api.v3.component.Component;
 import org.ladysnake.cca.api.v3.component.ComponentFactory;
 import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
+import org.ladysnake.cca.internal.block.BlockEntityComponentIndexImpl;
+import org.ladysnake.cca.internal.block.CardinalBlockInternals;
+import org.ladysnake.cca.internal.block.ComponentBlockEntity;
 
 import java.util.NoSuchElementException;
 import java.util.function.BiFunction;
@@ -122,4 +128,55 @@ public final class BlockComponents {
     public static <A, T, C extends Component> void exposeApi(ComponentKey<C> key, BlockApiLookup<A, T> apiLookup, BiFunction<? super C, ? super T, ? extends A> mapper, BlockEntityType<?>... types) {
         apiLookup.registerForBlockEntities((blockEntity, context) -> mapper.apply(key.get(blockEntity), context), types);
     }
+
+    /**
+     * Marks a block entity component as changed since its last synchronization.
+     *
+     * <p>When a block entity's update packet gets sent to watching players (typically after a call to
+     * {@link World#updateListeners(BlockPos, net.minecraft.block.BlockState, net.minecraft.block.BlockState, int)}),
+     * only the {@link AutoSyncedComponent}s that were marked dirty are sent along with it.
+     * This method has no effect on the client.
+     *
+     * @param key         the key of the component that changed
+     * @param blockEntity the block entity to which the component is attached
+     * @see #syncOnEveryUpdate(ComponentKey)
+     * @since 6.3.0
+     */
+    public static void markDirty(ComponentKey<?> key, BlockEntity blockEntity) {
+        World world = blockEntity.getWorld();
+        if (world != null && !world.isClient()) {
+            ((ComponentBlockEntity) blockEntity).cca$markComponentDirty(key);
+        }
+    }
+
+    /**
+     * Makes components of the given type get sent along with every update packet of their block entity,
+     * whether or not they were {@linkplain #markDirty(ComponentKey, BlockEntity) marked dirty}.
+     *
+     * <p>This restores the behaviour of previous versions, for components that do not track their own changes.
+     *
+     * @param key the key of the components to always synchronize
+     * @since 6.3.0
+     */
+    public static void syncOnEveryUpdate(ComponentKey<?> key) {
+        CardinalBlockInternals.syncOnEveryUpdate(key);
+    }
+
+    /**
+     * Retrieves the live index of loaded block entities to which the given component is attached,
+     * creating it if it does not exist yet.
+     *
+     * <p>Block entities only get indexed when they are loaded, so this method should be called during mod initialization.
+     * Keys for which this method is never called do not get indexed, and do not pay for it.
+     *
+     * @param key the key of the components to index
+     * @param <C> the type of the indexed components
+     * @return the index of block entities to which the component is attached
+     * @throws IllegalStateException if the Fabric Lifecycle Events API is not installed
+     * @since 6.3.0
+     */
+    @ApiStatus.Experimental
+    public static <C extends Component> BlockEntityComponentIndex<C> getIndex(ComponentKey<C> key) {
+        return BlockEntityComponentIndexImpl.get(key);
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.api.v3.block;
+
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockBox;
+import org.jetbrains.annotations.ApiStatus;
+import org.ladysnake.cca.api.v3.component.Component;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+
+import java.util.function.BiConsumer;
+
+/**
+ * A live index of the loaded block entities to which a given component is attached, in every server world.
+ *
+ * <p>Indexed block entities are bucketed by chunk section, so that region queries only visit
+ * the sections that intersect the queried area. The index is updated when block entities get loaded
+ * or unloaded on the server thread, and must only be queried from that thread.
+ * Block entities must not be added to or removed from a world while it is being iterated.
+ *
+ * @param <C> the type of the indexed components
+ * @see BlockComponents#getIndex(ComponentKey)
+ * @since 6.3.0
+ */
+@ApiStatus.Experimental
+@ApiStatus.NonExtendable
+public interface BlockEntityComponentIndex<C extends Component> {
+    /**
+     * {@return the key of the indexed components}
+     */
+    ComponentKey<C> getKey();
+
+    /**
+     * {@return the number of loaded block entities in {@code world} to which the component is attached}
+     */
+    int size(ServerWorld world);
+
+    /**
+     * Performs an action for every loaded block entity in {@code world} to which the component is attached.
+     *
+     * @param action the action to perform, taking the block entity and its component
+     */
+    void forEach(ServerWorld world, BiConsumer<? super BlockEntity, ? super C> action);
+
+    /**
+     * Performs an action for every loaded block entity within {@code box} to which the component is attached.
+     *
+     * @param box    the area to search, in block coordinates
+     * @param action the action to perform, taking the block entity and its component
+     */
+    void forEachIn(ServerWorld world, BlockBox box, BiConsumer<? super BlockEntity, ? super C> action);
+}
@@ -39,6 +39,8 @@ public interface BlockEntitySyncAroundCallback {
 
     /**
      * Called when a {@link BlockEntity}'s data is sent to watching players
+     *
+     * <p>The default listener sends the components that were {@linkplain BlockComponents#markDirty marked dirty} since the last call.
      */
     void onBlockEntitySync(BlockEntity blockEntity);
 }
@@ -0,0 +1,102 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal;
+
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.ChunkPos;
+import org.jetbrains.annotations.Nullable;
+import org.ladysnake.cca.api.v3.block.BlockEntitySyncCallback;
+import org.ladysnake.cca.api.v3.component.ComponentProvider;
+import org.ladysnake.cca.internal.base.BatchedComponentUpdatePayload;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gathers the block entity components of a chunk being sent to a player into a single {@link BlockEntityChunkSyncPayload}.
+ *
+ * <p>{@link BlockEntitySyncCallback} still gets invoked for every block entity in the chunk,
+ * but the default listener adds the components to the current batch instead of sending a packet per component.
+ */
+public final class BlockEntityChunkSync {
+    private static @Nullable BlockEntityChunkSync current;
+
+    private final ServerPlayerEntity player;
+    private final ChunkPos chunkPos;
+    private final List<BlockEntityChunkSyncPayload.BlockEntityEntry> blockEntities = new ArrayList<>();
+
+    private BlockEntityChunkSync(ServerPlayerEntity player, ChunkPos chunkPos) {
+        this.player = player;
+        this.chunkPos = chunkPos;
+    }
+
+    /**
+     * Starts batching the block entities of a chunk being sent to {@code player}.
+     *
+     * <p>Must be called on the server thread, and followed by {@link #end()}.
+     */
+    public static void begin(ServerPlayerEntity player, ChunkPos chunkPos) {
+        current = new BlockEntityChunkSync(player, chunkPos);
+    }
+
+    /**
+     * Adds the components of {@code be} to the current batch, if it targets the same player and chunk.
+     *
+     * @return {@code true} if the block entity was batched, {@code false} if it should be synced the usual way
+     */
+    public static boolean collect(ServerPlayerEntity player, BlockEntity be) {
+        BlockEntityChunkSync batch = current;
+
+        if (batch == null || batch.player != player || !batch.chunkPos.equals(new ChunkPos(be.getPos()))) {
+            return false;
+        }
+
+        List<BatchedComponentUpdatePayload.Entry> entries = BatchedComponentUpdatePayload.collectEntries(
+            player,
+            (ComponentProvider) be,
+            ((ComponentProvider) be).getComponentContainer().keys()
+        );
+
+        if (entries != null) {
+            batch.blockEntities.add(BlockEntityChunkSyncPayload.BlockEntityEntry.of(be.getType(), be.getPos(), entries));
+        }
+
+        return true;
+    }
+
+    /**
+     * Sends the current batch, if it holds anything, split into as many payloads as needed to stay under the payload size limit.
+     */
+    public static void end() {
+        BlockEntityChunkSync batch = current;
+        current = null;
+
+        if (batch != null) {
+            BatchedComponentUpdatePayload.split(batch.blockEntities, entry -> BatchedComponentUpdatePayload.dataSize(entry.components()), blockEntities -> {
+                BlockEntityChunkSyncPayload payload = new BlockEntityChunkSyncPayload(batch.chunkPos, blockEntities);
+                BatchedComponentUpdatePayload.send(batch.player, payload, payload.componentEntries());
+            });
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal;
+
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import org.ladysnake.cca.internal.base.BatchedComponentUpdatePayload;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A payload holding the sync data of block entity components in a chunk.
+ *
+ * <p>The chunk position is written once, and each block entity is then addressed
+ * by its type, its section index and its position relative to that section.
+ */
+public record BlockEntityChunkSyncPayload(
+    ChunkPos chunkPos,
+    List<BlockEntityEntry> blockEntities
+) implements CustomPayload {
+    public static final PacketCodec<RegistryByteBuf, BlockEntityChunkSyncPayload> CODEC = PacketCodec.tuple(
+        ChunkPos.PACKET_CODEC, BlockEntityChunkSyncPayload::chunkPos,
+        BlockEntityEntry.CODEC.collect(PacketCodecs.toList()), BlockEntityChunkSyncPayload::blockEntities,
+        BlockEntityChunkSyncPayload::new
+    );
+
+    /**
+     * {@return every component entry held by this payload, across all block entities}
+     */
+    public List<BatchedComponentUpdatePayload.Entry> componentEntries() {
+        List<BatchedComponentUpdatePayload.Entry> entries = new ArrayList<>();
+        for (BlockEntityEntry blockEntity : this.blockEntities) {
+            entries.addAll(blockEntity.components());
+        }
+        return entries;
+    }
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return CardinalComponentsBlock.BATCH_PACKET_ID;
+    }
+
+    public record BlockEntityEntry(
+        BlockEntityType<?> beType,
+        int sectionY,
+        short localPos,
+        List<BatchedComponentUpdatePayload.Entry> components
+    ) {
+        public static final PacketCodec<RegistryByteBuf, BlockEntityEntry> CODEC = PacketCodec.tuple(
+            PacketCodecs.entryOf(Registries.BLOCK_ENTITY_TYPE), BlockEntityEntry::beType,
+            PacketCodecs.VAR_INT, BlockEntityEntry::sectionY,
+            PacketCodecs.SHORT, BlockEntityEntry::localPos,
+            BatchedComponentUpdatePayload.Entry.CODEC.collect(PacketCodecs.toList()), BlockEntityEntry::components,
+            BlockEntityEntry::new
+        );
+
+        public static BlockEntityEntry of(BlockEntityType<?> beType, BlockPos pos, List<BatchedComponentUpdatePayload.Entry> components) {
+            return new BlockEntityEntry(beType, ChunkSectionPos.getSectionCoord(pos.getY()), ChunkSectionPos.packLocal(pos), components);
+        }
+
+        public BlockPos pos(ChunkPos chunkPos) {
+            return new BlockPos(
+                chunkPos.getStartX() + ChunkSectionPos.unpackLocalX(this.localPos),
+                ChunkSectionPos.getBlockCoord(this.sectionY) + ChunkSectionPos.unpackLocalY(this.localPos),
+                chunkPos.getStartZ() + ChunkSectionPos.unpackLocalZ(this.localPos)
+            );
+        }
+    }
+}
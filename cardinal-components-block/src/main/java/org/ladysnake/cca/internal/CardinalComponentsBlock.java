@@ -23,17 +23,25 @@
 package org.ladysnake.cca.internal;
 
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerBlockEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.network.packet.CustomPayload;
 import net.minecraft.network.packet.s2c.common.CustomPayloadS2CPacket;
+import net.minecraft.util.Identifier;
 import org.ladysnake.cca.api.v3.block.BlockEntitySyncAroundCallback;
 import org.ladysnake.cca.api.v3.block.BlockEntitySyncCallback;
 import org.ladysnake.cca.api.v3.component.ComponentKey;
 import org.ladysnake.cca.api.v3.component.ComponentProvider;
 import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
 import org.ladysnake.cca.internal.base.ComponentUpdatePayload;
+import org.ladysnake.cca.internal.block.BlockEntityComponentIndexImpl;
+import org.ladysnake.cca.internal.block.CardinalBlockInternals;
+import org.ladysnake.cca.internal.block.ComponentBlockEntity;
 import org.ladysnake.cca.internal.block.StaticBlockComponentPlugin;
 
+import java.util.Set;
+
 public class CardinalComponentsBlock {
 
     /**
@@ -43,11 +51,20 @@ public class CardinalComponentsBlock {
      * called on the game thread.
      */
     public static final CustomPayload.Id<ComponentUpdatePayload<BlockEntityAddress>> PACKET_ID = ComponentUpdatePayload.id("block_entity_sync");
+    /**
+     * {@link CustomPayloadS2CPacket} channel for the components of every block entity in a chunk that is being sent to a player.
+     */
+    public static final CustomPayload.Id<BlockEntityChunkSyncPayload> BATCH_PACKET_ID = new CustomPayload.Id<>(Identifier.of("cardinal-components", "block_entity_chunk_sync"));
 
     public static void init() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
             ComponentUpdatePayload.register(PACKET_ID, BlockEntityAddress.CODEC);
+            PayloadTypeRegistry.playS2C().register(BATCH_PACKET_ID, BlockEntityChunkSyncPayload.CODEC);
             BlockEntitySyncCallback.EVENT.register((player, tracked) -> {
+                if (BlockEntityChunkSync.collect(player, tracked)) {
+                    return;
+                }
+
                 ComponentProvider provider = (ComponentProvider) tracked;
 
                 for (ComponentKey<?> key : provider.getComponentContainer().keys()) {
@@ -55,14 +72,25 @@ public class CardinalComponentsBlock {
                 }
             });
             BlockEntitySyncAroundCallback.EVENT.register(tracked -> {
+                Set<ComponentKey<?>> dirty = ((ComponentBlockEntity) tracked).cca$takeDirtyComponents();
+
                 for (ComponentKey<?> key : ((ComponentProvider) tracked).getComponentContainer().keys()) {
-                    tracked.syncComponent(key);
+                    if (CardinalBlockInternals.shouldSyncOnUpdate(key, dirty)) {
+                        tracked.syncComponent(key);
+                    }
                 }
             });
         }
         if (FabricLoader.getInstance().isModLoaded("fabric-lifecycle-events-v1")) {
-            ServerBlockEntityEvents.BLOCK_ENTITY_LOAD.register((be, world) -> ((ComponentProvider) be).getComponentContainer().onServerLoad());
-            ServerBlockEntityEvents.BLOCK_ENTITY_UNLOAD.register((be, world) -> ((ComponentProvider) be).getComponentContainer().onServerUnload());
+            ServerBlockEntityEvents.BLOCK_ENTITY_LOAD.register((be, world) -> {
+                ((ComponentProvider) be).getComponentContainer().onServerLoad();
+                BlockEntityComponentIndexImpl.REGISTRY.onLoad(be, world);
+            });
+            ServerBlockEntityEvents.BLOCK_ENTITY_UNLOAD.register((be, world) -> {
+                ((ComponentProvider) be).getComponentContainer().onServerUnload();
+                BlockEntityComponentIndexImpl.REGISTRY.onUnload(be, world);
+            });
+            ServerWorldEvents.UNLOAD.register((server, world) -> BlockEntityComponentIndexImpl.REGISTRY.onWorldUnload(world));
         }
         StaticBlockComponentPlugin.INSTANCE.ensureInitialized();
     }
@@ -23,23 +23,43 @@
 package org.ladysnake.cca.internal;
 
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientBlockEntityEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.loader.api.FabricLoader;
 import org.ladysnake.cca.api.v3.component.ComponentProvider;
+import org.ladysnake.cca.internal.base.BatchedComponentUpdatePayload;
 import org.ladysnake.cca.internal.base.CcaClientInternals;
+import org.ladysnake.cca.internal.base.ClientSyncQueue;
 
 public class CcaBlockClient {
     public static void initClient() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
             CcaClientInternals.registerComponentSync(CardinalComponentsBlock.PACKET_ID,
-                (payload, ctx) -> payload.componentKey().flatMap(key -> key.maybeGet(payload.targetData().beType().get(
-                    ctx.client().world,
-                    payload.targetData().bePos()
-                ))
-            ));
+                (payload, ctx) -> payload.targetData().beType().get(ctx.client().world, payload.targetData().bePos()),
+                FabricLoader.getInstance().isModLoaded("fabric-lifecycle-events-v1") ? payload -> payload.targetData().bePos() : null
+            );
+            ClientPlayNetworking.registerGlobalReceiver(CardinalComponentsBlock.BATCH_PACKET_ID, (payload, ctx) -> ClientSyncQueue.receive(ctx, new ClientSyncQueue.Update() {
+                @Override
+                public boolean apply(ClientPlayNetworking.Context ctx) {
+                    for (BlockEntityChunkSyncPayload.BlockEntityEntry entry : payload.blockEntities()) {
+                        CcaClientInternals.applySyncData(entry.beType().get(ctx.client().world, entry.pos(payload.chunkPos())), entry.components());
+                    }
+                    return true;
+                }
+
+                @Override
+                public void release() {
+                    for (BlockEntityChunkSyncPayload.BlockEntityEntry entry : payload.blockEntities()) {
+                        BatchedComponentUpdatePayload.release(entry.components());
+                    }
+                }
+            }));
         }
         if (FabricLoader.getInstance().isModLoaded("fabric-lifecycle-events-v1")) {
-            ClientBlockEntityEvents.BLOCK_ENTITY_LOAD.register((be, world) -> ((ComponentProvider) be).getComponentContainer().onServerLoad());
-            ClientBlockEntityEvents.BLOCK_ENTITY_UNLOAD.register((be, world) -> ((ComponentProvider) be).getComponentContainer().onServerUnload());
+            ClientBlockEntityEvents.BLOCK_ENTITY_LOAD.register((be, world) -> {
+                ((ComponentProvider) be).getComponentContainer().onClientLoad();
+                ClientSyncQueue.onTargetLoaded(be.getPos(), world);
+            });
+            ClientBlockEntityEvents.BLOCK_ENTITY_UNLOAD.register((be, world) -> ((ComponentProvider) be).getComponentContainer().onClientUnload());
         }
     }
 }
@@ -0,0 +1,139 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.block;
+
+import com.google.common.collect.Iterables;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.ChunkSectionPos;
+import org.ladysnake.cca.api.v3.block.BlockEntityComponentIndex;
+import org.ladysnake.cca.api.v3.component.Component;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.internal.base.AbstractComponentIndex;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+public final class BlockEntityComponentIndexImpl<C extends Component> extends AbstractComponentIndex<BlockEntity, C, BlockEntityComponentIndexImpl.SectionIndex> implements BlockEntityComponentIndex<C> {
+    public static final Registry<BlockEntity, BlockEntityComponentIndexImpl<?>> REGISTRY = new Registry<>("Block entity", BlockEntityComponentIndexImpl::new);
+
+    private BlockEntityComponentIndexImpl(ComponentKey<C> key) {
+        super(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <C extends Component> BlockEntityComponentIndex<C> get(ComponentKey<C> key) {
+        return (BlockEntityComponentIndex<C>) REGISTRY.get(key);
+    }
+
+    @Override
+    protected SectionIndex createWorldIndex() {
+        return new SectionIndex();
+    }
+
+    @Override
+    public void forEachIn(ServerWorld world, BlockBox box, BiConsumer<? super BlockEntity, ? super C> action) {
+        SectionIndex worldIndex = this.getWorldIndex(world);
+        if (worldIndex == null) return;
+
+        int minX = ChunkSectionPos.getSectionCoord(box.getMinX());
+        int minY = ChunkSectionPos.getSectionCoord(box.getMinY());
+        int minZ = ChunkSectionPos.getSectionCoord(box.getMinZ());
+        int maxX = ChunkSectionPos.getSectionCoord(box.getMaxX());
+        int maxY = ChunkSectionPos.getSectionCoord(box.getMaxY());
+        int maxZ = ChunkSectionPos.getSectionCoord(box.getMaxZ());
+        long sectionCount = (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+
+        if (sectionCount <= worldIndex.sections.size()) {
+            // small area: look up every section in it
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    for (int z = minZ; z <= maxZ; z++) {
+                        Set<BlockEntity> bucket = worldIndex.sections.get(ChunkSectionPos.asLong(x, y, z));
+                        if (bucket != null) this.forEachIn(bucket, box, action);
+                    }
+                }
+            }
+        } else {
+            // large area: filter the sections that are actually populated
+            for (Long2ObjectMap.Entry<Set<BlockEntity>> entry : worldIndex.sections.long2ObjectEntrySet()) {
+                long section = entry.getLongKey();
+                int x = ChunkSectionPos.unpackX(section);
+                int y = ChunkSectionPos.unpackY(section);
+                int z = ChunkSectionPos.unpackZ(section);
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ) {
+                    this.forEachIn(entry.getValue(), box, action);
+                }
+            }
+        }
+    }
+
+    private void forEachIn(Set<BlockEntity> bucket, BlockBox box, BiConsumer<? super BlockEntity, ? super C> action) {
+        for (BlockEntity be : bucket) {
+            if (box.contains(be.getPos())) {
+                action.accept(be, this.getKey().get(be));
+            }
+        }
+    }
+
+    /**
+     * Indexed block entities of a single world, bucketed by chunk section
+     */
+    static final class SectionIndex implements WorldIndex<BlockEntity> {
+        private final Long2ObjectOpenHashMap<Set<BlockEntity>> sections = new Long2ObjectOpenHashMap<>();
+        private int size;
+
+        @Override
+        public void add(BlockEntity be) {
+            if (this.sections.computeIfAbsent(ChunkSectionPos.toLong(be.getPos()), s -> new ReferenceOpenHashSet<>()).add(be)) {
+                this.size++;
+            }
+        }
+
+        @Override
+        public void remove(BlockEntity be) {
+            long section = ChunkSectionPos.toLong(be.getPos());
+            Set<BlockEntity> bucket = this.sections.get(section);
+
+            if (bucket != null && bucket.remove(be)) {
+                this.size--;
+                if (bucket.isEmpty()) this.sections.remove(section);
+            }
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+        @Override
+        public Iterator<BlockEntity> iterator() {
+            return Iterables.concat(this.sections.values()).iterator();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.block;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityTicker;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+import org.ladysnake.cca.api.v3.component.ComponentContainer;
+
+/**
+ * The component container factory for a block entity class, along with what is needed to tick its components.
+ *
+ * <p>Tickers hold on to their block entity's container, so that ticking does not need to go through the block entity.
+ */
+public record BlockEntityContainerFactory(
+    ComponentContainer.Factory<BlockEntity> factory,
+    boolean clientTicking,
+    boolean serverTicking
+) {
+    public @Nullable <T extends BlockEntity> BlockEntityTicker<T> getComponentTicker(World world, ComponentContainer components, @Nullable BlockEntityTicker<T> base) {
+        if (world.isClient) {
+            return this.clientTicking ? new ClientComponentTicker<>(components, base) : base;
+        }
+        return this.serverTicking ? new ServerComponentTicker<>(components, base) : base;
+    }
+
+    private record ClientComponentTicker<T extends BlockEntity>(
+        ComponentContainer components,
+        @Nullable BlockEntityTicker<T> base
+    ) implements BlockEntityTicker<T> {
+        @Override
+        public void tick(World world, BlockPos pos, BlockState state, T blockEntity) {
+            this.components.tickClientComponents();
+            if (this.base != null) this.base.tick(world, pos, state, blockEntity);
+        }
+    }
+
+    private record ServerComponentTicker<T extends BlockEntity>(
+        ComponentContainer components,
+        @Nullable BlockEntityTicker<T> base
+    ) implements BlockEntityTicker<T> {
+        @Override
+        public void tick(World world, BlockPos pos, BlockState state, T blockEntity) {
+            this.components.tickServerComponents();
+            if (this.base != null) this.base.tick(world, pos, state, blockEntity);
+        }
+    }
+}
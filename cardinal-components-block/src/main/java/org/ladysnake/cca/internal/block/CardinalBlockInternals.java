@@ -22,34 +22,53 @@
  */
 package org.ladysnake.cca.internal.block;
 
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.minecraft.block.entity.BlockEntity;
+import org.jetbrains.annotations.Nullable;
 import org.ladysnake.cca.api.v3.component.ComponentContainer;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.internal.base.ComponentsInternals;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 public final class CardinalBlockInternals {
-    private static final Map<Class<? extends BlockEntity>, ComponentContainer.Factory<BlockEntity>> entityContainerFactories = new HashMap<>();
+    private static final Map<Class<? extends BlockEntity>, BlockEntityContainerFactory> entityContainerFactories = new HashMap<>();
+    private static final Set<ComponentKey<?>> syncedOnEveryUpdate = new ReferenceOpenHashSet<>();
 
-    public static ComponentContainer createComponents(BlockEntity blockEntity) {
-        Class<? extends BlockEntity> entityClass = blockEntity.getClass();
-        ComponentContainer.Factory<BlockEntity> existing = entityContainerFactories.get(entityClass);
+    public static synchronized void syncOnEveryUpdate(ComponentKey<?> key) {
+        syncedOnEveryUpdate.add(key);
+    }
+
+    /**
+     * @param dirty the keys of the components marked dirty since the block entity's last update packet
+     * @return {@code true} if the component should be resent along with a block entity's update packet
+     */
+    public static boolean shouldSyncOnUpdate(ComponentKey<?> key, @Nullable Set<ComponentKey<?>> dirty) {
+        return (dirty != null && dirty.contains(key))
+            || syncedOnEveryUpdate.contains(key)
+            || ComponentsInternals.shouldSyncUnchangedBlockEntityComponents();
+    }
+
+    public static BlockEntityContainerFactory getContainerFactory(Class<? extends BlockEntity> entityClass) {
+        BlockEntityContainerFactory existing = entityContainerFactories.get(entityClass);
 
         return Objects.requireNonNullElseGet(
             existing,
             () -> getBeComponentFactory(entityClass)
-        ).createContainer(blockEntity);
+        );
     }
 
-    private static synchronized ComponentContainer.Factory<BlockEntity> getBeComponentFactory(Class<? extends BlockEntity> entityClass) {
+    private static synchronized BlockEntityContainerFactory getBeComponentFactory(Class<? extends BlockEntity> entityClass) {
         // need to check again despite synchronization, because
         // 1- recursive calls
-        // 2- the factory may have been generated while waiting from createComponents
-        ComponentContainer.Factory<BlockEntity> existing = entityContainerFactories.get(entityClass);
+        // 2- the factory may have been generated while waiting from getContainerFactory
+        BlockEntityContainerFactory existing = entityContainerFactories.get(entityClass);
         if (existing != null) return existing;
 
-        ComponentContainer.Factory<BlockEntity> factory;
+        BlockEntityContainerFactory factory;
         if (StaticBlockComponentPlugin.INSTANCE.requiresStaticFactory(entityClass)) {
             factory = StaticBlockComponentPlugin.INSTANCE.buildDedicatedFactory(entityClass);
         } else {
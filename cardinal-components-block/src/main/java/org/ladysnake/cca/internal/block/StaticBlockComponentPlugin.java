@@ -23,11 +23,7 @@
 package org.ladysnake.cca.internal.block;
 
 import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.minecraft.block.entity.BlockEntity;
-import net.minecraft.block.entity.BlockEntityTicker;
-import net.minecraft.world.World;
-import org.jetbrains.annotations.Nullable;
 import org.ladysnake.cca.api.v3.block.BlockComponentFactoryRegistry;
 import org.ladysnake.cca.api.v3.block.BlockComponentInitializer;
 import org.ladysnake.cca.api.v3.component.Component;
@@ -63,26 +59,6 @@ public final class StaticBlockComponentPlugin extends LazyDispatcher implements
 
     private final List<PredicatedComponentFactory<?>> dynamicFactories = new ArrayList<>();
     private final Map<Class<? extends BlockEntity>, Map<ComponentKey<?>, QualifiedComponentFactory<ComponentFactory<? extends BlockEntity, ?>>>> beComponentFactories = new Reference2ObjectOpenHashMap<>();
-    private final Set<Class<? extends BlockEntity>> clientTicking = new ReferenceOpenHashSet<>();
-    private final Set<Class<? extends BlockEntity>> serverTicking = new ReferenceOpenHashSet<>();
-
-    @Nullable
-    public <T extends BlockEntity> BlockEntityTicker<T> getComponentTicker(World world, T be, @Nullable BlockEntityTicker<T> base) {
-        if (world.isClient && this.clientTicking.contains(be.getClass())) {
-            if (base == null) return (w, pos, state, blockEntity) -> blockEntity.asComponentProvider().getComponentContainer().tickClientComponents();
-            return (w, pos, state, blockEntity) -> {
-                blockEntity.asComponentProvider().getComponentContainer().tickClientComponents();
-                base.tick(w, pos, state, blockEntity);
-            };
-        } else if (!world.isClient && this.serverTicking.contains(be.getClass())) {
-            if (base == null) return (w, pos, state, blockEntity) -> blockEntity.asComponentProvider().getComponentContainer().tickServerComponents();
-            return (w, pos, state, blockEntity) -> {
-                blockEntity.asComponentProvider().getComponentContainer().tickServerComponents();
-                base.tick(w, pos, state, blockEntity);
-            };
-        }
-        return base;
-    }
 
     public boolean requiresStaticFactory(Class<? extends BlockEntity> entityClass) {
         this.ensureInitialized();
@@ -94,7 +70,7 @@ public final class StaticBlockComponentPlugin extends LazyDispatcher implements
         return entityClass == BlockEntity.class || this.beComponentFactories.containsKey(entityClass);
     }
 
-    public ComponentContainer.Factory<BlockEntity> buildDedicatedFactory(Class<? extends BlockEntity> entityClass) {
+    public BlockEntityContainerFactory buildDedicatedFactory(Class<? extends BlockEntity> entityClass) {
         this.ensureInitialized();
 
         var compiled = new LinkedHashMap<>(this.beComponentFactories.getOrDefault(entityClass, Collections.emptyMap()));
@@ -110,13 +86,16 @@ public final class StaticBlockComponentPlugin extends LazyDispatcher implements
         ComponentContainer.Factory.Builder<BlockEntity> builder = ComponentContainer.Factory.builder(BlockEntity.class)
             .factoryNameSuffix(getSuffix(entityClass));
 
+        boolean clientTicking = false;
+        boolean serverTicking = false;
+
         for (var entry : compiled.entrySet()) {
             addToBuilder(builder, entry);
-            if (ClientTickingComponent.class.isAssignableFrom(entry.getValue().impl())) this.clientTicking.add(entityClass);
-            if (ServerTickingComponent.class.isAssignableFrom(entry.getValue().impl())) this.serverTicking.add(entityClass);
+            clientTicking |= ClientTickingComponent.class.isAssignableFrom(entry.getValue().impl());
+            serverTicking |= ServerTickingComponent.class.isAssignableFrom(entry.getValue().impl());
         }
 
-        return builder.build();
+        return new BlockEntityContainerFactory(builder.build(), clientTicking, serverTicking);
     }
 
     private <C extends Component> void addToBuilder(ComponentContainer.Factory.Builder<BlockEntity> builder, Map.Entry<ComponentKey<?>, QualifiedComponentFactory<ComponentFactory<? extends BlockEntity, ?>>> entry) {
@@ -22,9 +22,11 @@
  */
 package org.ladysnake.cca.mixin.block.common;
 
+import it.unimi.dsi.fastutil.objects.ReferenceArraySet;
 import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityTicker;
 import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.network.RegistryByteBuf;
@@ -39,7 +41,9 @@ import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
 import org.ladysnake.cca.internal.BlockEntityAddress;
 import org.ladysnake.cca.internal.CardinalComponentsBlock;
 import org.ladysnake.cca.internal.base.ComponentUpdatePayload;
+import org.ladysnake.cca.internal.block.BlockEntityContainerFactory;
 import org.ladysnake.cca.internal.block.CardinalBlockInternals;
+import org.ladysnake.cca.internal.block.ComponentBlockEntity;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.Unique;
@@ -51,9 +55,10 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
+import java.util.Set;
 
 @Mixin(BlockEntity.class)
-public abstract class MixinBlockEntity implements ComponentProvider {
+public abstract class MixinBlockEntity implements ComponentProvider, ComponentBlockEntity {
     @Shadow
     @Nullable
     public abstract World getWorld();
@@ -64,14 +69,19 @@ public abstract class MixinBlockEntity implements ComponentProvider {
     @Shadow
     public abstract BlockEntityType<?> getType();
 
+    @Unique
+    private BlockEntityContainerFactory containerFactory;
     @Unique
     private ComponentContainer components;
+    @Unique
+    private @Nullable Set<ComponentKey<?>> dirtyComponents;
 
     @Inject(method = "<init>", at = @At("RETURN"))
     private void init(BlockEntityType<?> type, BlockPos pos, BlockState state, CallbackInfo ci) {
         // Promise, this is a BlockEntity
         //noinspection ConstantConditions
-        this.components = CardinalBlockInternals.createComponents((BlockEntity) (Object) this);
+        this.containerFactory = CardinalBlockInternals.getContainerFactory(((BlockEntity) (Object) this).getClass());
+        this.components = this.containerFactory.factory().createContainer((BlockEntity) (Object) this);
     }
 
     @Inject(method = "createNbt", at = @At("RETURN"))
@@ -90,6 +100,27 @@ public abstract class MixinBlockEntity implements ComponentProvider {
         return this.components;
     }
 
+    @Override
+    public void cca$markComponentDirty(ComponentKey<?> key) {
+        if (this.dirtyComponents == null) {
+            this.dirtyComponents = new ReferenceArraySet<>();
+        }
+        this.dirtyComponents.add(key);
+    }
+
+    @Override
+    public @Nullable Set<ComponentKey<?>> cca$takeDirtyComponents() {
+        Set<ComponentKey<?>> dirty = this.dirtyComponents;
+        this.dirtyComponents = null;
+        return dirty;
+    }
+
+    @Nullable
+    @Override
+    public <T extends BlockEntity> BlockEntityTicker<T> cca$getComponentTicker(World world, @Nullable BlockEntityTicker<T> base) {
+        return this.containerFactory.getComponentTicker(world, this.components, base);
+    }
+
     @Override
     public Iterable<ServerPlayerEntity> getRecipientsForComponentSync() {
         World world = this.getWorld();
@@ -100,6 +131,12 @@ public abstract class MixinBlockEntity implements ComponentProvider {
         return List.of();
     }
 
+    @Override
+    public double getSquaredSyncDistance(ServerPlayerEntity player) {
+        BlockPos pos = this.getPos();
+        return player.squaredDistanceTo(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5);
+    }
+
     @Override
     public <C extends AutoSyncedComponent> ComponentUpdatePayload<?> toComponentPacket(ComponentKey<? super C> key, boolean required, RegistryByteBuf data) {
         return new ComponentUpdatePayload<>(
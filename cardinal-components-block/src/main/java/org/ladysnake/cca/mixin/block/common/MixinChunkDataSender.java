@@ -28,6 +28,7 @@ import net.minecraft.server.network.ServerPlayNetworkHandler;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.world.chunk.WorldChunk;
 import org.ladysnake.cca.api.v3.block.BlockEntitySyncCallback;
+import org.ladysnake.cca.internal.BlockEntityChunkSync;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
@@ -37,8 +38,13 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 public abstract class MixinChunkDataSender {
     @Inject(method = "sendChunkData", at = @At("RETURN"))
     private static void sendChunkDataPackets(ServerPlayNetworkHandler handler, ServerWorld world, WorldChunk chunk, CallbackInfo ci) {
-        for (BlockEntity be : chunk.getBlockEntities().values()) {
-            BlockEntitySyncCallback.EVENT.invoker().onBlockEntitySync(handler.player, be);
+        BlockEntityChunkSync.begin(handler.player, chunk.getPos());
+        try {
+            for (BlockEntity be : chunk.getBlockEntities().values()) {
+                BlockEntitySyncCallback.EVENT.invoker().onBlockEntitySync(handler.player, be);
+            }
+        } finally {
+            BlockEntityChunkSync.end();
         }
     }
 }
@@ -27,7 +27,7 @@ import net.minecraft.block.entity.BlockEntityTicker;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.WorldChunk;
 import org.jetbrains.annotations.Nullable;
-import org.ladysnake.cca.internal.block.StaticBlockComponentPlugin;
+import org.ladysnake.cca.internal.block.ComponentBlockEntity;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
@@ -44,6 +44,6 @@ public abstract class MixinWorldChunk {
     @Nullable
     @ModifyVariable(method = "updateTicker", at = @At(value = "INVOKE_ASSIGN", target = "Lnet/minecraft/block/BlockState;getBlockEntityTicker(Lnet/minecraft/world/World;Lnet/minecraft/block/entity/BlockEntityType;)Lnet/minecraft/block/entity/BlockEntityTicker;"))
     private <T extends BlockEntity> BlockEntityTicker<T> getBlockEntityTicker(BlockEntityTicker<T> base, T blockEntity) {
-        return StaticBlockComponentPlugin.INSTANCE.getComponentTicker(this.world, blockEntity, base);
+        return ((ComponentBlockEntity) blockEntity).cca$getComponentTicker(this.world, base);
     }
 }
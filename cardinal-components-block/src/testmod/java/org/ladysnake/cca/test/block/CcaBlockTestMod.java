@@ -24,6 +24,7 @@ package org.ladysnake.cca.test.block;
 
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.lookup.v1.block.BlockApiLookup;
+import net.minecraft.block.entity.BarrelBlockEntity;
 import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.block.entity.CommandBlockBlockEntity;
 import net.minecraft.block.entity.EndGatewayBlockEntity;
@@ -33,6 +34,7 @@ import net.minecraft.util.math.Direction;
 import org.ladysnake.cca.api.v3.block.BlockComponentFactoryRegistry;
 import org.ladysnake.cca.api.v3.block.BlockComponentInitializer;
 import org.ladysnake.cca.api.v3.block.BlockComponents;
+import org.ladysnake.cca.api.v3.block.BlockEntityComponentIndex;
 import org.ladysnake.cca.test.base.LoadAwareTestComponent;
 import org.ladysnake.cca.test.base.TickingTestComponent;
 import org.ladysnake.cca.test.base.Vita;
@@ -40,17 +42,22 @@ import org.ladysnake.cca.test.base.Vita;
 public class CcaBlockTestMod implements ModInitializer, BlockComponentInitializer {
     public static final String MOD_ID = "cca-block-test";
     public static final BlockApiLookup<Vita, Direction> VITA_API_LOOKUP = BlockApiLookup.get(Identifier.of(MOD_ID, "sided_vita"), Vita.class, Direction.class);
+    public static final BlockEntityComponentIndex<LoadAwareTestComponent> LOAD_AWARE_INDEX = BlockComponents.getIndex(LoadAwareTestComponent.KEY);
 
     @Override
     public void registerBlockComponentFactories(BlockComponentFactoryRegistry registry) {
         registry.registerFor(EndGatewayBlockEntity.class, VitaCompound.KEY, VitaCompound::new);
         registry.registerFor(EndPortalBlockEntity.class, TickingTestComponent.KEY, be -> new TickingTestComponent());
         registry.registerFor(CommandBlockBlockEntity.class, LoadAwareTestComponent.KEY, be -> new LoadAwareTestComponent());
+        registry.registerFor(BarrelBlockEntity.class, SyncCounter.MARKED_KEY, be -> new SyncCounter());
+        registry.registerFor(BarrelBlockEntity.class, SyncCounter.UNMARKED_KEY, be -> new SyncCounter());
+        registry.registerFor(BarrelBlockEntity.class, SyncCounter.ALWAYS_SYNCED_KEY, be -> new SyncCounter());
     }
 
     @Override
     public void onInitialize() {
         BlockComponents.exposeApi(Vita.KEY, VITA_API_LOOKUP, (vita, side) -> side == Direction.UP ? vita : null, BlockEntityType.END_PORTAL);
         BlockComponents.exposeApi(VitaCompound.KEY, VITA_API_LOOKUP, VitaCompound::get, BlockEntityType.END_GATEWAY);
+        BlockComponents.syncOnEveryUpdate(SyncCounter.ALWAYS_SYNCED_KEY);
     }
 }
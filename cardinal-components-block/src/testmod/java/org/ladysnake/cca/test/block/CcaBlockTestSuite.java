@@ -23,6 +23,8 @@
 package org.ladysnake.cca.test.block;
 
 import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.entity.BlockEntityType;
@@ -30,14 +32,19 @@ import net.minecraft.block.entity.CommandBlockBlockEntity;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.test.GameTest;
 import net.minecraft.test.TestContext;
+import net.minecraft.util.math.BlockBox;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import org.jetbrains.annotations.NotNull;
+import org.ladysnake.cca.api.v3.block.BlockComponents;
+import org.ladysnake.cca.internal.block.ComponentBlockEntity;
 import org.ladysnake.cca.test.base.LoadAwareTestComponent;
 import org.ladysnake.cca.test.base.TickingTestComponent;
 import org.ladysnake.cca.test.base.Vita;
 import org.ladysnake.elmendorf.GameTestUtil;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 public class CcaBlockTestSuite implements FabricGameTest {
@@ -122,4 +129,60 @@ public class CcaBlockTestSuite implements FabricGameTest {
             ctx.complete();
         });
     }
+
+    @GameTest(templateName = EMPTY_STRUCTURE)
+    public void beComponentsIndexed(TestContext ctx) {
+        BlockPos pos = new BlockPos(1, 1, 1);
+        BlockBox box = new BlockBox(ctx.getAbsolutePos(pos));
+        ctx.setBlockState(pos, Blocks.CHAIN_COMMAND_BLOCK);
+        BlockEntity commandBlock = Objects.requireNonNull(ctx.getBlockEntity(pos));
+        List<BlockEntity> found = new ArrayList<>();
+        CcaBlockTestMod.LOAD_AWARE_INDEX.forEachIn(ctx.getWorld(), box, (be, c) -> found.add(be));
+        GameTestUtil.assertTrue("Index should contain the loaded block entity", found.equals(List.of(commandBlock)));
+        ctx.setBlockState(pos, Blocks.AIR);
+        ctx.waitAndRun(1, () -> {
+            found.clear();
+            CcaBlockTestMod.LOAD_AWARE_INDEX.forEachIn(ctx.getWorld(), box, (be, c) -> found.add(be));
+            GameTestUtil.assertTrue("Index should not contain unloaded block entities", found.isEmpty());
+            ctx.complete();
+        });
+    }
+
+    @GameTest(templateName = EMPTY_STRUCTURE)
+    public void beUpdatesOnlyResendMarkedComponents(TestContext ctx) {
+        ctx.spawnServerPlayer(1, 0, 1);    // Ensure someone watches the block entity
+        BlockPos pos = new BlockPos(1, 1, 1);
+        ctx.setBlockState(pos, Blocks.BARREL);
+        BlockEntity barrel = Objects.requireNonNull(ctx.getBlockEntity(pos));
+        SyncCounter marked = SyncCounter.MARKED_KEY.get(barrel);
+        SyncCounter unmarked = SyncCounter.UNMARKED_KEY.get(barrel);
+        SyncCounter alwaysSynced = SyncCounter.ALWAYS_SYNCED_KEY.get(barrel);
+        // Let the chunk get sent to the player and the placement update go through
+        ctx.waitAndRun(20, () -> {
+            marked.resetSyncCount();
+            unmarked.resetSyncCount();
+            alwaysSynced.resetSyncCount();
+            BlockComponents.markDirty(SyncCounter.MARKED_KEY, barrel);
+            updateListeners(ctx, pos);
+            ctx.waitAndRun(2, () -> {
+                GameTestUtil.assertTrue("Marked component should be sent with the block entity update", marked.getSyncCount() == 1);
+                GameTestUtil.assertTrue("Dirty flags should be cleared once sent", ((ComponentBlockEntity) barrel).cca$takeDirtyComponents() == null);
+                GameTestUtil.assertTrue("Unmarked component should not be sent with the block entity update", unmarked.getSyncCount() == 0);
+                GameTestUtil.assertTrue("Opted-out component should be sent with the block entity update", alwaysSynced.getSyncCount() == 1);
+                updateListeners(ctx, pos);
+                ctx.waitAndRun(2, () -> {
+                    GameTestUtil.assertTrue("Marked component should not be sent again until marked again", marked.getSyncCount() == 1);
+                    GameTestUtil.assertTrue("Unmarked component should never be sent with block entity updates", unmarked.getSyncCount() == 0);
+                    GameTestUtil.assertTrue("Opted-out component should be sent with every block entity update", alwaysSynced.getSyncCount() == 2);
+                    ctx.complete();
+                });
+            });
+        });
+    }
+
+    private static void updateListeners(TestContext ctx, BlockPos pos) {
+        BlockPos absolutePos = ctx.getAbsolutePos(pos);
+        BlockState state = ctx.getWorld().getBlockState(absolutePos);
+        ctx.getWorld().updateListeners(absolutePos, state, state, Block.NOTIFY_LISTENERS);
+    }
 }
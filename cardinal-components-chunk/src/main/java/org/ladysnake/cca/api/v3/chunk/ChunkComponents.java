@@ -0,0 +1,61 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.api.v3.chunk;
+
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.world.chunk.WorldChunk;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
+import org.ladysnake.cca.internal.chunk.ChunkComponentSyncTracker;
+
+/**
+ * This class consists exclusively of static methods related to the synchronization of chunk components.
+ *
+ * @since 6.3.0
+ */
+public final class ChunkComponents {
+    /**
+     * Marks a chunk component as changed, scheduling its synchronization with every player watching the chunk.
+     *
+     * <p>Unlike {@link ComponentKey#sync(Object)}, which sends a packet immediately, marked components are
+     * sent at most once per tick, together with the chunk's pending block updates, in a single packet per chunk and player.
+     * If Fabric Lifecycle Events is not installed, the component gets synchronized immediately instead.
+     * This method has no effect on the client, or if the component is not an {@link AutoSyncedComponent}.
+     *
+     * @param key   the key of the component that changed
+     * @param chunk the chunk to which the component is attached
+     */
+    public static void markDirty(ComponentKey<?> key, WorldChunk chunk) {
+        if (!chunk.getWorld().isClient()) {
+            if (FabricLoader.getInstance().isModLoaded("fabric-lifecycle-events-v1")) {
+                ChunkComponentSyncTracker.markDirty(key, chunk);
+            } else {
+                key.sync(chunk);
+            }
+        }
+    }
+
+    private ChunkComponents() {
+        throw new UnsupportedOperationException();
+    }
+}
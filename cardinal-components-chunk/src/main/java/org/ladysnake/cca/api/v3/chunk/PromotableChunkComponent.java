@@ -0,0 +1,51 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.api.v3.chunk;
+
+import net.minecraft.world.chunk.ProtoChunk;
+import net.minecraft.world.chunk.WorldChunk;
+import org.jetbrains.annotations.ApiStatus;
+import org.ladysnake.cca.api.v3.component.Component;
+
+/**
+ * A chunk component that can be moved as-is from a {@link ProtoChunk} to the {@link WorldChunk} replacing it.
+ *
+ * <p>When a proto chunk finishes generating, it gets promoted to a world chunk and then discarded.
+ * If every component attached to the proto chunk implements this interface, the world chunk adopts
+ * the proto chunk's component instances, instead of creating new components and copying the data over.
+ *
+ * @since 6.3.0
+ */
+@ApiStatus.Experimental
+public interface PromotableChunkComponent extends Component {
+    /**
+     * Called when this component gets moved to the world chunk replacing its original proto chunk.
+     *
+     * <p>Components that keep a reference to their chunk should update it here.
+     *
+     * @param chunk the chunk this component is now attached to
+     */
+    default void onPromoted(WorldChunk chunk) {
+        // NO-OP
+    }
+}
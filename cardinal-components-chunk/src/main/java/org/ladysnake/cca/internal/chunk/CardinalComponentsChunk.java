@@ -23,29 +23,36 @@
 package org.ladysnake.cca.internal.chunk;
 
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.network.packet.CustomPayload;
 import net.minecraft.util.math.ChunkPos;
 import org.ladysnake.cca.api.v3.chunk.ChunkSyncCallback;
-import org.ladysnake.cca.api.v3.component.ComponentKey;
 import org.ladysnake.cca.api.v3.component.ComponentProvider;
+import org.ladysnake.cca.internal.base.BatchedComponentUpdatePayload;
 import org.ladysnake.cca.internal.base.ComponentUpdatePayload;
 
 public final class CardinalComponentsChunk {
     public static final CustomPayload.Id<ComponentUpdatePayload<ChunkPos>> PACKET_ID = ComponentUpdatePayload.id("chunk_sync");
+    public static final CustomPayload.Id<BatchedComponentUpdatePayload<ChunkPos>> BATCH_PACKET_ID = BatchedComponentUpdatePayload.id("chunk_sync_batch");
 
     public static void init() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
             ComponentUpdatePayload.register(PACKET_ID, ChunkPos.PACKET_CODEC);
-            ChunkSyncCallback.EVENT.register((player, tracked) -> {
-                for (ComponentKey<?> key : tracked.asComponentProvider().getComponentContainer().keys()) {
-                    key.syncWith(player, (ComponentProvider) tracked);
-                }
-            });
+            BatchedComponentUpdatePayload.register(BATCH_PACKET_ID, ChunkPos.PACKET_CODEC);
+            ChunkSyncCallback.EVENT.register(ChunkComponentSyncQueue::enqueue);
+            ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> ChunkComponentSyncQueue.remove(handler));
         }
         if (FabricLoader.getInstance().isModLoaded("fabric-lifecycle-events-v1")) {
+            ChunkComponentSyncQueue.enable();
+            ServerTickEvents.END_SERVER_TICK.register(ChunkComponentSyncTracker::flushAll);
+            ServerTickEvents.END_SERVER_TICK.register(ChunkComponentSyncQueue::flush);
             ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> ((ComponentProvider) chunk).getComponentContainer().onServerLoad());
-            ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> ((ComponentProvider) chunk).getComponentContainer().onServerUnload());
+            ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+                ((ComponentProvider) chunk).getComponentContainer().onServerUnload();
+                ChunkComponentSyncTracker.remove(chunk);
+            });
         }
         StaticChunkComponentPlugin.INSTANCE.ensureInitialized();
     }
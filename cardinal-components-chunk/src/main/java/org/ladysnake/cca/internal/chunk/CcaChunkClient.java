@@ -24,6 +24,11 @@ package org.ladysnake.cca.internal.chunk;
 
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientChunkEvents;
 import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkStatus;
+import org.jetbrains.annotations.Nullable;
 import org.ladysnake.cca.api.v3.component.ComponentProvider;
 import org.ladysnake.cca.internal.base.CcaClientInternals;
 
@@ -34,15 +39,23 @@ public class CcaChunkClient {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
             CcaClientInternals.registerComponentSync(
                 CardinalComponentsChunk.PACKET_ID,
-                (payload, ctx) -> payload.componentKey().flatMap(key -> key.maybeGet(Objects.requireNonNull(ctx.client().world).getChunk(
-                    payload.targetData().x,
-                    payload.targetData().z
-                ))
-            ));
+                (payload, ctx) -> getLoadedChunk(ctx.client().world, payload.targetData())
+            );
+            CcaClientInternals.registerBatchedComponentSync(
+                CardinalComponentsChunk.BATCH_PACKET_ID,
+                (payload, ctx) -> getLoadedChunk(ctx.client().world, payload.targetData())
+            );
         }
         if (FabricLoader.getInstance().isModLoaded("fabric-lifecycle-events-v1")) {
             ClientChunkEvents.CHUNK_LOAD.register((world, chunk) -> ((ComponentProvider) chunk).getComponentContainer().onClientLoad());
             ClientChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> ((ComponentProvider) chunk).getComponentContainer().onClientUnload());
         }
     }
+
+    /**
+     * Unlike {@link ClientWorld#getChunk(int, int)}, does not fall back to the empty chunk shared by every unloaded position.
+     */
+    private static @Nullable Chunk getLoadedChunk(@Nullable ClientWorld world, ChunkPos pos) {
+        return Objects.requireNonNull(world).getChunkManager().getChunk(pos.x, pos.z, ChunkStatus.FULL, false);
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.chunk;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.WorldChunk;
+import org.ladysnake.cca.api.v3.component.ComponentProvider;
+import org.ladysnake.cca.internal.base.BatchedComponentUpdatePayload;
+import org.ladysnake.cca.internal.base.ComponentsInternals;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Spreads the initial synchronization of chunk components over several ticks.
+ *
+ * <p>Chunks get queued per player when their data is sent, and every tick, each player receives queued chunks until
+ * the {@linkplain ComponentsInternals#getChunkSyncBytesPerTick() configured budget} is exhausted.
+ * All components of a chunk are sent in a single {@link BatchedComponentUpdatePayload}, written when the chunk leaves the queue,
+ * unless they hold too much data for a single payload.
+ */
+public final class ChunkComponentSyncQueue {
+    private static final Map<ServerPlayNetworkHandler, ChunkComponentSyncQueue> queues = new Reference2ObjectOpenHashMap<>();
+    private static boolean enabled;
+
+    private final Queue<WorldChunk> pending = new ArrayDeque<>();
+    /**
+     * The chunk currently queued at each position, entries of {@link #pending} not found in there being stale
+     */
+    private final Long2ObjectMap<WorldChunk> queued = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Enables queueing, which requires {@link #flush(MinecraftServer)} to be called every tick.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static void enqueue(ServerPlayerEntity player, WorldChunk chunk) {
+        if (!enabled || ComponentsInternals.getChunkSyncBytesPerTick() <= 0) {
+            send(player, chunk);
+        } else {
+            ChunkComponentSyncQueue queue = queues.computeIfAbsent(player.networkHandler, h -> new ChunkComponentSyncQueue());
+            if (queue.queued.put(chunk.getPos().toLong(), chunk) != chunk) {
+                queue.pending.add(chunk);
+            }
+        }
+    }
+
+    /**
+     * Drops the chunk queued at {@code pos} for {@code player}, as the client does not have it anymore.
+     */
+    public static void onChunkUnloaded(ServerPlayerEntity player, ChunkPos pos) {
+        ChunkComponentSyncQueue queue = queues.get(player.networkHandler);
+
+        if (queue != null) {
+            queue.queued.remove(pos.toLong());
+        }
+    }
+
+    public static void flush(MinecraftServer server) {
+        if (!queues.isEmpty()) {
+            int budget = ComponentsInternals.getChunkSyncBytesPerTick();
+            queues.entrySet().removeIf(e -> e.getValue().flush(e.getKey().player, budget));
+        }
+    }
+
+    public static void remove(ServerPlayNetworkHandler handler) {
+        queues.remove(handler);
+    }
+
+    /**
+     * @return {@code true} if this queue is now empty
+     */
+    private boolean flush(ServerPlayerEntity player, int budget) {
+        int sent = 0;
+        // the first chunk is always sent, even if it exceeds the budget by itself
+        while (sent < budget && !this.pending.isEmpty()) {
+            WorldChunk chunk = this.pending.remove();
+
+            if (this.queued.remove(chunk.getPos().toLong(), chunk)) {
+                sent += send(player, chunk);
+            }
+        }
+        return this.pending.isEmpty();
+    }
+
+    /**
+     * @return the number of bytes of component data that were sent
+     */
+    private static int send(ServerPlayerEntity player, WorldChunk chunk) {
+        ChunkPos pos = chunk.getPos();
+
+        // the player may have changed dimension or stopped watching the chunk, or the chunk may have been unloaded since it was queued
+        if (player.getServerWorld() != chunk.getWorld()
+            || !player.getChunkFilter().isWithinDistance(pos.x, pos.z)
+            || player.getServerWorld().getChunkManager().getWorldChunk(pos.x, pos.z) != chunk) {
+            return 0;
+        }
+
+        ComponentProvider provider = (ComponentProvider) chunk;
+        return BatchedComponentUpdatePayload.sync(CardinalComponentsChunk.BATCH_PACKET_ID, pos, player, provider, provider.getComponentContainer().keys());
+    }
+}
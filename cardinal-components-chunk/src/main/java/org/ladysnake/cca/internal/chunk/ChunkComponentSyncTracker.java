@@ -0,0 +1,102 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.chunk;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceArraySet;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.chunk.WorldChunk;
+import org.ladysnake.cca.api.v3.component.ComponentContainer;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.api.v3.component.ComponentProvider;
+import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
+import org.ladysnake.cca.internal.base.BatchedComponentUpdatePayload;
+import org.ladysnake.cca.internal.base.SyncMetrics;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps track of the chunk components {@linkplain org.ladysnake.cca.api.v3.chunk.ChunkComponents#markDirty(ComponentKey, WorldChunk) marked dirty},
+ * and sends them when the chunk's updates get flushed.
+ */
+public final class ChunkComponentSyncTracker {
+    private static final Map<WorldChunk, Set<ComponentKey<?>>> dirtyChunks = new Reference2ObjectOpenHashMap<>();
+
+    public static void markDirty(ComponentKey<?> key, WorldChunk chunk) {
+        dirtyChunks.computeIfAbsent(chunk, c -> new ReferenceArraySet<>()).add(key);
+    }
+
+    /**
+     * Sends the dirty components of {@code chunk} along with its pending block updates.
+     *
+     * <p>Synced components that were not marked dirty would have been resent with every block update
+     * before change-driven sync, so they get counted as skipped for every watching player in the {@linkplain SyncMetrics sync metrics},
+     * along with an estimate of the data they would have sent.
+     */
+    public static void flushBlockUpdates(WorldChunk chunk) {
+        Set<ComponentKey<?>> dirty = dirtyChunks.get(chunk);
+        ComponentContainer components = ((ComponentProvider) chunk).getComponentContainer();
+        int watchers = -1;
+
+        for (ComponentKey<?> key : components.keys()) {
+            if ((dirty == null || !dirty.contains(key)) && key.getInternal(components) instanceof AutoSyncedComponent) {
+                if (watchers < 0) {
+                    watchers = PlayerLookup.tracking((ServerWorld) chunk.getWorld(), chunk.getPos()).size();
+                }
+                SyncMetrics.recordSkipped(key, chunk, watchers);
+            }
+        }
+
+        flush(chunk);
+    }
+
+    /**
+     * Sends the dirty components of {@code chunk} to every player watching it.
+     */
+    public static void flush(WorldChunk chunk) {
+        Set<ComponentKey<?>> dirty = dirtyChunks.remove(chunk);
+
+        if (dirty != null) {
+            for (ServerPlayerEntity player : PlayerLookup.tracking((ServerWorld) chunk.getWorld(), chunk.getPos())) {
+                BatchedComponentUpdatePayload.sync(CardinalComponentsChunk.BATCH_PACKET_ID, chunk.getPos(), player, (ComponentProvider) chunk, dirty);
+            }
+        }
+    }
+
+    /**
+     * Sends the dirty components of chunks that did not have their updates flushed by vanilla this tick.
+     */
+    public static void flushAll(MinecraftServer server) {
+        while (!dirtyChunks.isEmpty()) {
+            flush(dirtyChunks.keySet().iterator().next());
+        }
+    }
+
+    public static void remove(WorldChunk chunk) {
+        dirtyChunks.remove(chunk);
+    }
+}
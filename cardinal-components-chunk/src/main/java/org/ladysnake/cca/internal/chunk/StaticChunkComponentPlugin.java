@@ -24,13 +24,20 @@ package org.ladysnake.cca.internal.chunk;
 
 import com.google.common.base.Suppliers;
 import net.fabricmc.loader.api.entrypoint.EntrypointContainer;
+import net.minecraft.registry.RegistryWrapper;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ProtoChunk;
+import net.minecraft.world.chunk.WorldChunk;
+import net.minecraft.world.chunk.WrapperProtoChunk;
+import org.jetbrains.annotations.Nullable;
 import org.ladysnake.cca.api.v3.chunk.ChunkComponentFactoryRegistry;
 import org.ladysnake.cca.api.v3.chunk.ChunkComponentInitializer;
+import org.ladysnake.cca.api.v3.chunk.PromotableChunkComponent;
 import org.ladysnake.cca.api.v3.component.Component;
 import org.ladysnake.cca.api.v3.component.ComponentContainer;
 import org.ladysnake.cca.api.v3.component.ComponentFactory;
 import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.internal.base.ComponentsInternals;
 import org.ladysnake.cca.internal.base.asm.StaticComponentPluginBase;
 
 import java.util.Collection;
@@ -41,10 +48,88 @@ public final class StaticChunkComponentPlugin extends StaticComponentPluginBase<
     private static final Supplier<ComponentContainer.Factory<Chunk>> componentsContainerFactory
         = Suppliers.memoize(INSTANCE::buildContainerFactory);
 
+    private static final ThreadLocal<Boolean> promoting = ThreadLocal.withInitial(() -> false);
+    private static boolean warnedEarlyAccess;
+
     public static ComponentContainer createContainer(Chunk chunk) {
         return componentsContainerFactory.get().createContainer(chunk);
     }
 
+    /**
+     * Creates the container of a promoted chunk whose components got accessed before it could receive its proto chunk's container.
+     *
+     * <p>This only happens if a mod reads chunk components from WorldChunk's delegate constructor.
+     * The container then gets kept, and the proto chunk's data is copied into it, see {@link #promoteContainer(ProtoChunk, WorldChunk, ComponentContainer, RegistryWrapper.WrapperLookup)}.
+     */
+    public static ComponentContainer createEarlyContainer(Chunk chunk) {
+        if (!warnedEarlyAccess) {
+            warnedEarlyAccess = true;
+            ComponentsInternals.LOGGER.warn("Components of chunk {} got accessed before its proto chunk's components could be transferred, falling back to copying them", chunk.getPos(), new IllegalStateException("Early chunk component access"));
+        }
+        return createContainer(chunk);
+    }
+
+    /**
+     * Signals that the next chunk constructed on the current thread is a world chunk being promoted from a proto chunk.
+     *
+     * <p>The creation of that chunk's container is deferred to {@link #promoteContainer(ProtoChunk, WorldChunk, ComponentContainer, RegistryWrapper.WrapperLookup)}.
+     * This must be called from a static context before WorldChunk's delegate constructor call, as there is no way to inject
+     * into a constructor before it calls another constructor.
+     */
+    public static void beginPromotion() {
+        promoting.set(true);
+    }
+
+    /**
+     * {@return {@code true} if the chunk currently being constructed will get its container from {@link #promoteContainer(ProtoChunk, WorldChunk, ComponentContainer, RegistryWrapper.WrapperLookup)}}
+     */
+    public static boolean consumePromotion() {
+        if (promoting.get()) {
+            promoting.set(false);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets a component container for a world chunk replacing a proto chunk.
+     *
+     * <p>If all the proto chunk's components are {@link PromotableChunkComponent}s, its container is reused directly.
+     * Otherwise, a new container is created and the proto chunk's data is copied into it.
+     *
+     * @param existing the container the world chunk already has, if its components got {@linkplain #createEarlyContainer(Chunk) accessed early}
+     */
+    public static ComponentContainer promoteContainer(ProtoChunk proto, WorldChunk chunk, @Nullable ComponentContainer existing, RegistryWrapper.WrapperLookup registryLookup) {
+        ComponentContainer protoComponents = proto.asComponentProvider().getComponentContainer();
+
+        // never replace a container that may already have been handed out
+        if (existing != null) {
+            existing.copyFrom(protoComponents, registryLookup);
+            return existing;
+        }
+
+        // a wrapper's container already belongs to another world chunk
+        if (!(proto instanceof WrapperProtoChunk) && canAdopt(protoComponents)) {
+            for (ComponentKey<?> key : protoComponents.keys()) {
+                ((PromotableChunkComponent) key.getFromContainer(protoComponents)).onPromoted(chunk);
+            }
+            return protoComponents;
+        }
+
+        ComponentContainer components = createContainer(chunk);
+        components.copyFrom(protoComponents, registryLookup);
+        return components;
+    }
+
+    private static boolean canAdopt(ComponentContainer components) {
+        for (ComponentKey<?> key : components.keys()) {
+            if (!(key.getFromContainer(components) instanceof PromotableChunkComponent)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private StaticChunkComponentPlugin() {
         super("loading a chunk", Chunk.class);
     }
@@ -30,8 +30,10 @@ import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.ChunkSection;
 import net.minecraft.world.chunk.UpgradeData;
 import net.minecraft.world.gen.chunk.BlendingData;
+import org.jetbrains.annotations.Nullable;
 import org.ladysnake.cca.api.v3.component.ComponentContainer;
 import org.ladysnake.cca.api.v3.component.ComponentProvider;
+import org.ladysnake.cca.internal.chunk.ComponentChunk;
 import org.ladysnake.cca.internal.chunk.StaticChunkComponentPlugin;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Unique;
@@ -40,17 +42,33 @@ import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 @Mixin(Chunk.class)
-public abstract class MixinChunk implements ComponentProvider {
+public abstract class MixinChunk implements ComponentProvider, ComponentChunk {
     @Unique
     private ComponentContainer components;
 
     @Inject(method = "<init>", at = @At("RETURN"))
     private void initComponents(ChunkPos pos, UpgradeData upgradeData, HeightLimitView heightLimitView, Registry<Biome> biome, long inhabitedTime, ChunkSection[] sectionArrayInitializer, BlendingData blendingData, CallbackInfo ci) {
-        this.components = StaticChunkComponentPlugin.createContainer((Chunk) (Object) this);
+        // promoted chunks get their container right after WorldChunk's delegate constructor, see MixinWorldChunk
+        if (!StaticChunkComponentPlugin.consumePromotion()) {
+            this.components = StaticChunkComponentPlugin.createContainer((Chunk) (Object) this);
+        }
     }
 
     @Override
     public ComponentContainer getComponentContainer() {
+        if (this.components == null) {
+            this.components = StaticChunkComponentPlugin.createEarlyContainer((Chunk) (Object) this);
+        }
         return this.components;
     }
+
+    @Override
+    public @Nullable ComponentContainer cca$getComponentContainerIfCreated() {
+        return this.components;
+    }
+
+    @Override
+    public void cca$setComponentContainer(ComponentContainer components) {
+        this.components = components;
+    }
 }
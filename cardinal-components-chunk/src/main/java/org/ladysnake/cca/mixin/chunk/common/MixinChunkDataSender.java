@@ -24,9 +24,12 @@ package org.ladysnake.cca.mixin.chunk.common;
 
 import net.minecraft.server.network.ChunkDataSender;
 import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.chunk.WorldChunk;
 import org.ladysnake.cca.api.v3.chunk.ChunkSyncCallback;
+import org.ladysnake.cca.internal.chunk.ChunkComponentSyncQueue;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
@@ -38,4 +41,9 @@ public abstract class MixinChunkDataSender {
     private static void sendChunkComponentsPackets(ServerPlayNetworkHandler handler, ServerWorld world, WorldChunk chunk, CallbackInfo ci) {
         ChunkSyncCallback.EVENT.invoker().onChunkSync(handler.player, chunk);
     }
+
+    @Inject(method = "unload", at = @At("HEAD"))
+    private void dropQueuedComponents(ServerPlayerEntity player, ChunkPos pos, CallbackInfo ci) {
+        ChunkComponentSyncQueue.onChunkUnloaded(player, pos);
+    }
 }
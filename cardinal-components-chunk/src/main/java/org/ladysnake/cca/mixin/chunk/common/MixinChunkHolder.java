@@ -22,12 +22,9 @@
  */
 package org.ladysnake.cca.mixin.chunk.common;
 
-import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
-import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ChunkHolder;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.world.chunk.WorldChunk;
-import org.ladysnake.cca.api.v3.chunk.ChunkSyncCallback;
+import org.ladysnake.cca.internal.chunk.ChunkComponentSyncTracker;
 import org.objectweb.asm.Opcodes;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
@@ -37,7 +34,9 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 @Mixin(ChunkHolder.class)
 public abstract class MixinChunkHolder {
     /**
-     * Synchronizes components whenever a {@link net.minecraft.network.packet.s2c.play.ChunkDataS2CPacket} is sent
+     * Synchronizes dirty components along with the chunk's pending block updates
+     *
+     * @see org.ladysnake.cca.api.v3.chunk.ChunkComponents#markDirty(org.ladysnake.cca.api.v3.component.ComponentKey, WorldChunk)
      */
     @Inject(
             method = "flushUpdates",
@@ -49,9 +48,7 @@ public abstract class MixinChunkHolder {
                     shift = At.Shift.AFTER
             )
     )
-    private void onPlayerLogIn(WorldChunk chunk, CallbackInfo ci) {
-        for (ServerPlayerEntity p : PlayerLookup.tracking((ServerWorld) chunk.getWorld(), chunk.getPos())) {
-            ChunkSyncCallback.EVENT.invoker().onChunkSync(p, chunk);
-        }
+    private void syncDirtyComponents(WorldChunk chunk, CallbackInfo ci) {
+        ChunkComponentSyncTracker.flushBlockUpdates(chunk);
     }
 }
@@ -23,7 +23,6 @@
 package org.ladysnake.cca.mixin.chunk.common;
 
 import net.minecraft.nbt.NbtCompound;
-import net.minecraft.nbt.NbtElement;
 import net.minecraft.registry.DynamicRegistryManager;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.ChunkPos;
@@ -35,7 +34,8 @@ import net.minecraft.world.chunk.WrapperProtoChunk;
 import net.minecraft.world.poi.PointOfInterestStorage;
 import net.minecraft.world.storage.StorageKey;
 import org.jetbrains.annotations.Nullable;
-import org.ladysnake.cca.internal.base.AbstractComponentContainer;
+import org.ladysnake.cca.internal.base.ComponentContainerSnapshot;
+import org.ladysnake.cca.internal.base.PreparedComponentData;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
@@ -45,30 +45,28 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 @Mixin(SerializedChunk.class)
 public abstract class MixinSerializedChunk {
     @Unique
-    private @Nullable NbtCompound cca$serializedComponents;
+    private @Nullable PreparedComponentData cca$loadedComponents;
+    @Unique
+    private @Nullable ComponentContainerSnapshot cca$componentSnapshot;
 
     @Inject(method = "fromNbt", at = @At("RETURN"))
     private static void fromNbt(HeightLimitView world, DynamicRegistryManager registryManager, NbtCompound nbt, CallbackInfoReturnable<SerializedChunk> cir) {
         MixinSerializedChunk ret = (MixinSerializedChunk) (Object) cir.getReturnValue();
         if (ret != null) {
-            ret.cca$serializedComponents = new NbtCompound();
-            ret.cca$serializedComponents.put(AbstractComponentContainer.NBT_KEY, nbt.get(AbstractComponentContainer.NBT_KEY));
+            // Runs on a worker thread, only installing the data in convert needs the server thread
+            ret.cca$loadedComponents = PreparedComponentData.prepare(nbt, registryManager);
         }
     }
 
     @Inject(method = "convert", at = @At("RETURN"))
     private void convert(ServerWorld world, PointOfInterestStorage poiStorage, StorageKey key, ChunkPos expectedPos, CallbackInfoReturnable<ProtoChunk> cir) {
-        NbtCompound tag = cca$serializedComponents;
-        if (tag == null) return;
+        PreparedComponentData data = cca$loadedComponents;
+        if (data == null) return;
         ProtoChunk ret = cir.getReturnValue();
         Chunk chunk = ret instanceof WrapperProtoChunk ? ((WrapperProtoChunk) ret).getWrappedChunk() : ret;
-        chunk.asComponentProvider().getComponentContainer().fromTag(tag, world.getRegistryManager());
         // If components have been removed, we need to make the chunk save again
-        if (tag.contains(AbstractComponentContainer.NBT_KEY, NbtElement.COMPOUND_TYPE)) {
-            int remainingComponentCount = tag.getCompound(AbstractComponentContainer.NBT_KEY).getSize();
-            if (remainingComponentCount > 0) {
-                chunk.markNeedsSaving();
-            }
+        if (data.applyTo(chunk.asComponentProvider().getComponentContainer(), world.getRegistryManager())) {
+            chunk.markNeedsSaving();
         }
     }
 
@@ -76,16 +74,15 @@ public abstract class MixinSerializedChunk {
     private static void fromChunk(ServerWorld world, Chunk chunk, CallbackInfoReturnable<SerializedChunk> cir) {
         MixinSerializedChunk ret = (MixinSerializedChunk) (Object) cir.getReturnValue();
         if (ret != null) {
-            ret.cca$serializedComponents = new NbtCompound();
-            chunk.asComponentProvider().getComponentContainer().toTag(ret.cca$serializedComponents, world.getRegistryManager());
+            // Runs on the server thread, the snapshot gets written later by the IO worker calling serialize
+            ret.cca$componentSnapshot = ComponentContainerSnapshot.capture(chunk.asComponentProvider().getComponentContainer(), world.getRegistryManager());
         }
     }
 
     @Inject(method = "serialize", at = @At("RETURN"))
     private void serialize(CallbackInfoReturnable<NbtCompound> cir) {
-        if (cca$serializedComponents != null) {
-            NbtCompound ret = cir.getReturnValue();
-            ret.put(AbstractComponentContainer.NBT_KEY, cca$serializedComponents.get(AbstractComponentContainer.NBT_KEY));
+        if (cca$componentSnapshot != null) {
+            cca$componentSnapshot.toTag(cir.getReturnValue());
         }
     }
 }
@@ -43,10 +43,13 @@ import org.ladysnake.cca.api.v3.component.ComponentProvider;
 import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
 import org.ladysnake.cca.internal.base.ComponentUpdatePayload;
 import org.ladysnake.cca.internal.chunk.CardinalComponentsChunk;
+import org.ladysnake.cca.internal.chunk.ComponentChunk;
+import org.ladysnake.cca.internal.chunk.StaticChunkComponentPlugin;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.ModifyArg;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 import java.util.List;
@@ -68,6 +71,14 @@ public abstract class MixinWorldChunk extends Chunk implements ComponentProvider
         return List.of();
     }
 
+    @Override
+    public double getSquaredSyncDistance(ServerPlayerEntity player) {
+        ChunkPos pos = this.getPos();
+        double dx = player.getX() - pos.getCenterX();
+        double dz = player.getZ() - pos.getCenterZ();
+        return dx * dx + dz * dz;
+    }
+
     @Override
     public @Nullable <C extends AutoSyncedComponent> ComponentUpdatePayload<?> toComponentPacket(ComponentKey<? super C> key, boolean required, RegistryByteBuf data) {
         return new ComponentUpdatePayload<>(
@@ -79,8 +90,30 @@ public abstract class MixinWorldChunk extends Chunk implements ComponentProvider
         );
     }
 
-    @Inject(method = "<init>(Lnet/minecraft/server/world/ServerWorld;Lnet/minecraft/world/chunk/ProtoChunk;Lnet/minecraft/world/chunk/WorldChunk$EntityLoader;)V", at = @At("RETURN"))
-    private void copyFromProto(ServerWorld world, ProtoChunk proto, WorldChunk.EntityLoader entityLoader, CallbackInfo ci) {
-        this.getComponentContainer().copyFrom(proto.asComponentProvider().getComponentContainer(), world.getRegistryManager());
+    /**
+     * Flags the chunk as promoted before its constructors run, the delegate constructor call's arguments being the only
+     * place where code can run beforehand
+     */
+    @ModifyArg(
+        method = "<init>(Lnet/minecraft/server/world/ServerWorld;Lnet/minecraft/world/chunk/ProtoChunk;Lnet/minecraft/world/chunk/WorldChunk$EntityLoader;)V",
+        at = @At(value = "INVOKE", target = "Lnet/minecraft/world/chunk/WorldChunk;<init>(Lnet/minecraft/world/World;Lnet/minecraft/util/math/ChunkPos;Lnet/minecraft/world/chunk/UpgradeData;Lnet/minecraft/world/tick/ChunkTickScheduler;Lnet/minecraft/world/tick/ChunkTickScheduler;J[Lnet/minecraft/world/chunk/ChunkSection;Lnet/minecraft/world/chunk/WorldChunk$EntityLoader;Lnet/minecraft/world/gen/chunk/BlendingData;)V"),
+        index = 1
+    )
+    private static ChunkPos deferComponents(ChunkPos pos) {
+        StaticChunkComponentPlugin.beginPromotion();
+        return pos;
+    }
+
+    /**
+     * Hands the proto chunk's components over right after the delegate constructor, before block entities get
+     * transferred and fire their load events
+     */
+    @Inject(
+        method = "<init>(Lnet/minecraft/server/world/ServerWorld;Lnet/minecraft/world/chunk/ProtoChunk;Lnet/minecraft/world/chunk/WorldChunk$EntityLoader;)V",
+        at = @At(value = "CTOR_HEAD", args = "enforce=POST_DELEGATE")
+    )
+    private void promoteComponents(ServerWorld world, ProtoChunk proto, WorldChunk.EntityLoader entityLoader, CallbackInfo ci) {
+        ComponentChunk self = (ComponentChunk) this;
+        self.cca$setComponentContainer(StaticChunkComponentPlugin.promoteContainer(proto, (WorldChunk) (Object) this, self.cca$getComponentContainerIfCreated(), world.getRegistryManager()));
     }
 }
@@ -25,6 +25,7 @@ package org.ladysnake.cca.test.chunk;
 import net.fabricmc.api.ModInitializer;
 import org.ladysnake.cca.api.v3.chunk.ChunkComponentFactoryRegistry;
 import org.ladysnake.cca.api.v3.chunk.ChunkComponentInitializer;
+import org.ladysnake.cca.api.v3.chunk.PromotableChunkComponent;
 import org.ladysnake.cca.test.base.LoadAwareTestComponent;
 import org.ladysnake.cca.test.base.TickingTestComponent;
 import org.ladysnake.cca.test.base.Vita;
@@ -32,13 +33,19 @@ import org.ladysnake.cca.test.base.Vita;
 public class CcaChunkTestMod implements ModInitializer, ChunkComponentInitializer {
     @Override
     public void registerChunkComponentFactories(ChunkComponentFactoryRegistry registry) {
-        registry.register(TickingTestComponent.KEY, chunk -> new TickingTestComponent());
+        // every chunk component is promotable, so that proto chunks get adopted by their world chunk
+        registry.register(TickingTestComponent.KEY, chunk -> new PromotableTickingComponent());
         registry.register(Vita.KEY, ChunkVita::new);
-        registry.register(LoadAwareTestComponent.KEY, chunk -> new LoadAwareTestComponent());
+        registry.register(LoadAwareTestComponent.KEY, chunk -> new PromotableLoadAwareComponent());
+        registry.register(DecodedCounter.KEY, chunk -> new DecodedCounter());
     }
 
     @Override
     public void onInitialize() {
-
+        DecodedCounter.KEY.setSnapshotDecoder(DecodedCounter.DECODER);
     }
+
+    public static class PromotableTickingComponent extends TickingTestComponent implements PromotableChunkComponent {}
+
+    public static class PromotableLoadAwareComponent extends LoadAwareTestComponent implements PromotableChunkComponent {}
 }
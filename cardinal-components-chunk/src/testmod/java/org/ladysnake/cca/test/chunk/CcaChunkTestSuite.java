@@ -24,14 +24,19 @@ package org.ladysnake.cca.test.chunk;
 
 import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryKeys;
 import net.minecraft.test.GameTest;
 import net.minecraft.test.TestContext;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ProtoChunk;
 import net.minecraft.world.chunk.SerializedChunk;
+import net.minecraft.world.chunk.UpgradeData;
 import net.minecraft.world.chunk.WorldChunk;
+import net.minecraft.world.chunk.WrapperProtoChunk;
 import net.minecraft.world.storage.StorageKey;
+import org.ladysnake.cca.api.v3.component.ComponentContainer;
 import org.ladysnake.cca.test.base.LoadAwareTestComponent;
 import org.ladysnake.cca.test.base.TickingTestComponent;
 import org.ladysnake.cca.test.base.Vita;
@@ -50,6 +55,20 @@ public class CcaChunkTestSuite implements FabricGameTest {
         ctx.complete();
     }
 
+    @GameTest(templateName = EMPTY_STRUCTURE)
+    public void chunkComponentsDecodeAheadOfTime(TestContext ctx) {
+        ChunkPos pos = new ChunkPos(ctx.getAbsolutePos(new BlockPos(1, 0, 1)));
+        Chunk c = new WorldChunk(ctx.getWorld(), pos);
+        c.getComponent(DecodedCounter.KEY).setValue(42);
+        NbtCompound nbt = SerializedChunk.fromChunk(ctx.getWorld(), c).serialize();
+        Chunk c1 = SerializedChunk.fromNbt(ctx.getWorld(), ctx.getWorld().getRegistryManager(), nbt)
+            .convert(ctx.getWorld(), ctx.getWorld().getPointOfInterestStorage(), new StorageKey("", ctx.getWorld().getRegistryKey(), ""), pos);
+        DecodedCounter counter = c1.getComponent(DecodedCounter.KEY);
+        GameTestUtil.assertTrue("Decoded chunk component data should survive deserialization", counter.getValue() == 42);
+        GameTestUtil.assertTrue("Chunk components with a snapshot decoder should not read NBT while loading", !counter.wasReadFromNbt());
+        ctx.complete();
+    }
+
     @GameTest(templateName = EMPTY_STRUCTURE)
     public void chunksTick(TestContext ctx) {
         ctx.spawnServerPlayer(0, 0, 0);    // Ensure chunk gets ticked
@@ -70,4 +89,28 @@ public class CcaChunkTestSuite implements FabricGameTest {
         );
         ctx.complete();
     }
+
+    @GameTest(templateName = EMPTY_STRUCTURE)
+    public void promotedChunksAdoptProtoComponents(TestContext ctx) {
+        ChunkPos pos = new ChunkPos(ctx.getAbsolutePos(new BlockPos(1, 0, 1)));
+        ProtoChunk proto = new ProtoChunk(pos, UpgradeData.NO_UPGRADE_DATA, ctx.getWorld(), ctx.getWorld().getRegistryManager().getOrThrow(RegistryKeys.BIOME), null);
+        ComponentContainer protoComponents = proto.asComponentProvider().getComponentContainer();
+        proto.getComponent(Vita.KEY).setVitality(42);
+        WorldChunk chunk = new WorldChunk(ctx.getWorld(), proto, null);
+        GameTestUtil.assertTrue("World chunk should adopt the proto chunk's container", chunk.asComponentProvider().getComponentContainer() == protoComponents);
+        GameTestUtil.assertTrue("Adopted component should keep its data", chunk.getComponent(Vita.KEY).getVitality() == 42);
+        GameTestUtil.assertTrue("Adopted component should be told about its new chunk", ((ChunkVita) chunk.getComponent(Vita.KEY)).getOwner() == chunk);
+        ctx.complete();
+    }
+
+    @GameTest(templateName = EMPTY_STRUCTURE)
+    public void promotedWrapperChunksCopyComponents(TestContext ctx) {
+        ChunkPos pos = new ChunkPos(ctx.getAbsolutePos(new BlockPos(1, 0, 1)));
+        WorldChunk wrapped = new WorldChunk(ctx.getWorld(), pos);
+        wrapped.getComponent(Vita.KEY).setVitality(42);
+        WorldChunk chunk = new WorldChunk(ctx.getWorld(), new WrapperProtoChunk(wrapped, false), null);
+        GameTestUtil.assertTrue("World chunk should not share a wrapped chunk's container", chunk.asComponentProvider().getComponentContainer() != wrapped.asComponentProvider().getComponentContainer());
+        GameTestUtil.assertTrue("Copied component should keep its data", chunk.getComponent(Vita.KEY).getVitality() == 42);
+        ctx.complete();
+    }
 }
@@ -23,11 +23,13 @@
 package org.ladysnake.cca.test.chunk;
 
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.WorldChunk;
+import org.ladysnake.cca.api.v3.chunk.PromotableChunkComponent;
 import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
 import org.ladysnake.cca.test.base.BaseVita;
 
-public class ChunkVita extends BaseVita implements AutoSyncedComponent {
-    private final Chunk owner;
+public class ChunkVita extends BaseVita implements AutoSyncedComponent, PromotableChunkComponent {
+    private Chunk owner;
 
     public ChunkVita(Chunk owner) {
         this.owner = owner;
@@ -39,4 +41,13 @@ public class ChunkVita extends BaseVita implements AutoSyncedComponent {
         this.owner.syncComponent(KEY);
         this.owner.markNeedsSaving();
     }
+
+    @Override
+    public void onPromoted(WorldChunk chunk) {
+        this.owner = chunk;
+    }
+
+    public Chunk getOwner() {
+        return this.owner;
+    }
 }
@@ -0,0 +1,72 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.test.chunk;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.util.Identifier;
+import org.ladysnake.cca.api.v3.chunk.PromotableChunkComponent;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.api.v3.component.ComponentRegistryV3;
+import org.ladysnake.cca.api.v3.component.SnapshotDeserializableComponent;
+
+/**
+ * Holds a number that gets decoded ahead of time when its chunk loads, and remembers how it got its data
+ */
+public class DecodedCounter implements SnapshotDeserializableComponent<DecodedCounter.Snapshot>, PromotableChunkComponent {
+    public static final ComponentKey<DecodedCounter> KEY = ComponentRegistryV3.INSTANCE.getOrCreate(Identifier.of("cca-chunk-test", "decoded_counter"), DecodedCounter.class);
+    public static final SnapshotDeserializableComponent.Decoder<Snapshot> DECODER = (tag, registryLookup) -> new Snapshot(tag.getInt("value"));
+
+    private int value;
+    private boolean readFromNbt;
+
+    public int getValue() {
+        return this.value;
+    }
+
+    public void setValue(int value) {
+        this.value = value;
+    }
+
+    public boolean wasReadFromNbt() {
+        return this.readFromNbt;
+    }
+
+    @Override
+    public void applySnapshot(Snapshot snapshot) {
+        this.value = snapshot.value();
+    }
+
+    @Override
+    public void readFromNbt(NbtCompound tag, RegistryWrapper.WrapperLookup registryLookup) {
+        this.value = tag.getInt("value");
+        this.readFromNbt = true;
+    }
+
+    @Override
+    public void writeToNbt(NbtCompound tag, RegistryWrapper.WrapperLookup registryLookup) {
+        tag.putInt("value", this.value);
+    }
+
+    public record Snapshot(int value) {}
+}
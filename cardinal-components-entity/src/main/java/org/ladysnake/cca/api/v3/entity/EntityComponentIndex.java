@@ -0,0 +1,90 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.api.v3.entity;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Box;
+import org.jetbrains.annotations.ApiStatus;
+import org.ladysnake.cca.api.v3.component.Component;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.internal.entity.EntityComponentIndexImpl;
+
+import java.util.function.BiConsumer;
+
+/**
+ * A live index of the loaded entities to which a given component is attached, in every server world.
+ *
+ * <p>The index is updated when entities get loaded or unloaded on the server thread, and must only be queried from that thread.
+ * Entities must not be added to or removed from a world while it is being iterated.
+ *
+ * @param <C> the type of the indexed components
+ * @since 6.3.0
+ */
+@ApiStatus.Experimental
+@ApiStatus.NonExtendable
+public interface EntityComponentIndex<C extends Component> {
+    /**
+     * Retrieves the live index of loaded entities to which the given component is attached,
+     * creating it if it does not exist yet.
+     *
+     * <p>Entities only get indexed when they are loaded, so this method should be called during mod initialization.
+     * Keys for which this method is never called do not get indexed, and do not pay for it.
+     *
+     * @param key the key of the components to index
+     * @param <C> the type of the indexed components
+     * @return the index of entities to which the component is attached
+     * @throws IllegalStateException if the Fabric Lifecycle Events API is not installed
+     */
+    static <C extends Component> EntityComponentIndex<C> get(ComponentKey<C> key) {
+        return EntityComponentIndexImpl.get(key);
+    }
+
+    /**
+     * {@return the key of the indexed components}
+     */
+    ComponentKey<C> getKey();
+
+    /**
+     * {@return the number of loaded entities in {@code world} to which the component is attached}
+     */
+    int size(ServerWorld world);
+
+    /**
+     * Performs an action for every loaded entity in {@code world} to which the component is attached.
+     *
+     * @param action the action to perform, taking the entity and its component
+     */
+    void forEach(ServerWorld world, BiConsumer<? super Entity, ? super C> action);
+
+    /**
+     * Performs an action for every loaded entity intersecting {@code box} to which the component is attached.
+     *
+     * <p>Depending on the size of the area, this either filters the index or goes through
+     * the world's own chunk-section buckets, which stay up to date as entities move.
+     *
+     * @param box    the area to search
+     * @param action the action to perform, taking the entity and its component
+     */
+    void forEachIn(ServerWorld world, Box box, BiConsumer<? super Entity, ? super C> action);
+}
@@ -26,6 +26,7 @@ import com.mojang.datafixers.util.Unit;
 import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
 import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.fabricmc.loader.api.FabricLoader;
@@ -36,11 +37,9 @@ import net.minecraft.entity.conversion.EntityConversionType;
 import net.minecraft.network.codec.PacketCodecs;
 import net.minecraft.network.packet.CustomPayload;
 import net.minecraft.network.packet.s2c.common.CustomPayloadS2CPacket;
-import net.minecraft.registry.RegistryWrapper;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.Identifier;
 import net.minecraft.world.GameRules;
-import org.ladysnake.cca.api.v3.component.Component;
 import org.ladysnake.cca.api.v3.component.ComponentKey;
 import org.ladysnake.cca.api.v3.component.ComponentProvider;
 import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
@@ -100,8 +99,15 @@ public final class CardinalComponentsEntity {
             });
         }
         if (FabricLoader.getInstance().isModLoaded("fabric-lifecycle-events-v1")) {
-            ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> ((ComponentProvider) entity).getComponentContainer().onServerLoad());
-            ServerEntityEvents.ENTITY_UNLOAD.register((entity, world) -> ((ComponentProvider) entity).getComponentContainer().onServerUnload());
+            ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+                ((ComponentProvider) entity).getComponentContainer().onServerLoad();
+                EntityComponentIndexImpl.REGISTRY.onLoad(entity, world);
+            });
+            ServerEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+                ((ComponentProvider) entity).getComponentContainer().onServerUnload();
+                EntityComponentIndexImpl.REGISTRY.onUnload(entity, world);
+            });
+            ServerWorldEvents.UNLOAD.register((server, world) -> EntityComponentIndexImpl.REGISTRY.onWorldUnload(world));
         }
         ServerLivingEntityEvents.MOB_CONVERSION.register(RespawnCopyStrategy.EVENT_PHASE, CardinalComponentsEntity::copyData);
         ServerPlayerEvents.COPY_FROM.register(RespawnCopyStrategy.EVENT_PHASE, CardinalComponentsEntity::copyData);
@@ -109,28 +115,13 @@ public final class CardinalComponentsEntity {
     }
 
     private static void copyData(LivingEntity original, LivingEntity clone, EntityConversionContext context) {
-        Set<ComponentKey<?>> keys = ((ComponentProvider) original).getComponentContainer().keys();
-
-        for (ComponentKey<?> key : keys) {
-            if (key.isProvidedBy(clone)) {
-                copyData(original, clone, original.getRegistryManager(), false, context.keepEquipment(), context.type() == EntityConversionType.SINGLE, key);
-            }
-        }
+        Set<ComponentKey<?>> cloneKeys = ((ComponentProvider) clone).getComponentContainer().keys();
+        CardinalEntityInternals.getRespawnCopyTable(original).copy(original, clone, cloneKeys, original.getRegistryManager(), false, context.keepEquipment(), context.type() == EntityConversionType.SINGLE);
     }
 
     private static void copyData(ServerPlayerEntity original, ServerPlayerEntity clone, boolean lossless) {
         boolean keepInventory = original.getServerWorld().getGameRules().getBoolean(GameRules.KEEP_INVENTORY) || clone.isSpectator();
-        Set<ComponentKey<?>> keys = ((ComponentProvider) original).getComponentContainer().keys();
-
-        for (ComponentKey<?> key : keys) {
-            copyData(original, clone, original.getRegistryManager(), lossless, keepInventory, !((SwitchablePlayerEntity) original).cca$isSwitchingCharacter(), key);
-        }
-    }
-
-    private static <C extends Component> void copyData(LivingEntity original, LivingEntity clone, RegistryWrapper.WrapperLookup registryLookup, boolean lossless, boolean keepInventory, boolean sameCharacter, ComponentKey<C> key) {
-        C from = key.get(original);
-        C to = key.get(clone);
-        RespawnCopyStrategy.get(key, original.getClass()).copyForRespawn(from, to, registryLookup, lossless, keepInventory, sameCharacter);
+        CardinalEntityInternals.getRespawnCopyTable(original).copy(original, clone, null, original.getRegistryManager(), lossless, keepInventory, !((SwitchablePlayerEntity) original).cca$isSwitchingCharacter());
     }
 
     private static void syncEntityComponents(ServerPlayerEntity player, Entity tracked) {
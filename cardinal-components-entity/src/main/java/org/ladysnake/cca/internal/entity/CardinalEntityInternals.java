@@ -29,6 +29,7 @@ import org.jetbrains.annotations.Nullable;
 import org.ladysnake.cca.api.v3.component.Component;
 import org.ladysnake.cca.api.v3.component.ComponentContainer;
 import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.api.v3.component.ComponentProvider;
 import org.ladysnake.cca.api.v3.component.CopyableComponent;
 import org.ladysnake.cca.api.v3.entity.RespawnCopyStrategy;
 import org.ladysnake.cca.api.v3.entity.RespawnableComponent;
@@ -37,6 +38,7 @@ import org.ladysnake.cca.internal.base.ComponentsInternals;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 public final class CardinalEntityInternals {
 
@@ -46,6 +48,7 @@ public final class CardinalEntityInternals {
 
     private static final Map<Class<? extends Entity>, ComponentContainer.Factory<Entity>> entityContainerFactories = new HashMap<>();
     private static final Map<ComponentKey<?>, Map<Class<? extends Entity>, RespawnCopyStrategy<?>>> respawnCopyStrategies = new HashMap<>();
+    private static final Map<Class<? extends LivingEntity>, RespawnCopyTable> respawnCopyTables = new HashMap<>();
     private static final Object factoryMutex = new Object();
 
     /**
@@ -88,6 +91,27 @@ public final class CardinalEntityInternals {
         }
     }
 
+    /**
+     * Gets the respawn copy table for an entity's class, or builds one from its components if none exists.
+     */
+    public static RespawnCopyTable getRespawnCopyTable(LivingEntity entity) {
+        Class<? extends LivingEntity> entityClass = entity.getClass();
+
+        return Objects.requireNonNullElseGet(
+            respawnCopyTables.get(entityClass),  // Non-synchronized fast path
+            () -> buildRespawnCopyTable(entityClass, ((ComponentProvider) entity).getComponentContainer().keys())
+        );
+    }
+
+    private static synchronized RespawnCopyTable buildRespawnCopyTable(Class<? extends LivingEntity> entityClass, Set<ComponentKey<?>> keys) {
+        RespawnCopyTable existing = respawnCopyTables.get(entityClass);
+        if (existing != null) return existing;
+
+        RespawnCopyTable table = new RespawnCopyTable(entityClass, keys);
+        respawnCopyTables.put(entityClass, table);
+        return table;
+    }
+
     @SuppressWarnings("unchecked")
     public static <C extends Component> RespawnCopyStrategy<? super C> getRespawnCopyStrategy(ComponentKey<C> type, Class<? extends LivingEntity> entityClass) {
         @Nullable RespawnCopyStrategy<?> strat = null;
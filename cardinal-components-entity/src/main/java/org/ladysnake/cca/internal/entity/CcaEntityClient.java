@@ -26,6 +26,8 @@ import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
 import net.fabricmc.loader.api.FabricLoader;
 import org.ladysnake.cca.api.v3.component.ComponentProvider;
 import org.ladysnake.cca.internal.base.CcaClientInternals;
+import org.ladysnake.cca.internal.base.ClientSyncQueue;
+import org.ladysnake.cca.internal.base.ComponentUpdatePayload;
 
 import java.util.Objects;
 
@@ -34,13 +36,15 @@ public final class CcaEntityClient {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
             CcaClientInternals.registerComponentSync(
                 CardinalComponentsEntity.PACKET_ID,
-                (payload, ctx) -> payload.componentKey().flatMap(
-                    key -> key.maybeGet(Objects.requireNonNull(ctx.client().world).getEntityById(payload.targetData()))
-                )
+                (payload, ctx) -> Objects.requireNonNull(ctx.client().world).getEntityById(payload.targetData()),
+                FabricLoader.getInstance().isModLoaded("fabric-lifecycle-events-v1") ? ComponentUpdatePayload::targetData : null
             );
         }
         if (FabricLoader.getInstance().isModLoaded("fabric-lifecycle-events-v1")) {
-            ClientEntityEvents.ENTITY_LOAD.register((entity, world) -> ((ComponentProvider) entity).getComponentContainer().onClientLoad());
+            ClientEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+                ((ComponentProvider) entity).getComponentContainer().onClientLoad();
+                ClientSyncQueue.onTargetLoaded(entity.getId(), world);
+            });
             ClientEntityEvents.ENTITY_UNLOAD.register((entity, world) -> ((ComponentProvider) entity).getComponentContainer().onClientUnload());
         }
     }
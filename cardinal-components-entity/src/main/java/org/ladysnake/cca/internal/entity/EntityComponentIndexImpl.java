@@ -0,0 +1,109 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.entity;
+
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import org.ladysnake.cca.api.v3.component.Component;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.api.v3.entity.EntityComponentIndex;
+import org.ladysnake.cca.internal.base.AbstractComponentIndex;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+public final class EntityComponentIndexImpl<C extends Component> extends AbstractComponentIndex<Entity, C, EntityComponentIndexImpl.EntitySet> implements EntityComponentIndex<C> {
+    public static final Registry<Entity, EntityComponentIndexImpl<?>> REGISTRY = new Registry<>("Entity", EntityComponentIndexImpl::new);
+
+    private EntityComponentIndexImpl(ComponentKey<C> key) {
+        super(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <C extends Component> EntityComponentIndex<C> get(ComponentKey<C> key) {
+        return (EntityComponentIndex<C>) REGISTRY.get(key);
+    }
+
+    @Override
+    protected EntitySet createWorldIndex() {
+        return new EntitySet();
+    }
+
+    @Override
+    public void forEachIn(ServerWorld world, Box box, BiConsumer<? super Entity, ? super C> action) {
+        EntitySet entities = this.getWorldIndex(world);
+        if (entities == null) return;
+
+        long sectionCount = (long) (sectionSpan(box.minX, box.maxX)) * sectionSpan(box.minY, box.maxY) * sectionSpan(box.minZ, box.maxZ);
+
+        if (sectionCount < entities.size()) {
+            // small area: let the world's section buckets narrow the search down
+            for (Entity entity : world.getEntitiesByClass(Entity.class, box, entities::contains)) {
+                action.accept(entity, this.getKey().get(entity));
+            }
+        } else {
+            for (Entity entity : entities) {
+                if (entity.getBoundingBox().intersects(box)) {
+                    action.accept(entity, this.getKey().get(entity));
+                }
+            }
+        }
+    }
+
+    private static int sectionSpan(double min, double max) {
+        return ChunkSectionPos.getSectionCoord(MathHelper.floor(max)) - ChunkSectionPos.getSectionCoord(MathHelper.floor(min)) + 1;
+    }
+
+    static final class EntitySet implements WorldIndex<Entity> {
+        private final Set<Entity> entities = new ReferenceLinkedOpenHashSet<>();
+
+        @Override
+        public void add(Entity entity) {
+            this.entities.add(entity);
+        }
+
+        @Override
+        public void remove(Entity entity) {
+            this.entities.remove(entity);
+        }
+
+        boolean contains(Entity entity) {
+            return this.entities.contains(entity);
+        }
+
+        @Override
+        public int size() {
+            return this.entities.size();
+        }
+
+        @Override
+        public Iterator<Entity> iterator() {
+            return this.entities.iterator();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.entity;
+
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.registry.RegistryWrapper;
+import org.jetbrains.annotations.Nullable;
+import org.ladysnake.cca.api.v3.component.Component;
+import org.ladysnake.cca.api.v3.component.ComponentContainer;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.api.v3.component.ComponentProvider;
+import org.ladysnake.cca.api.v3.entity.RespawnCopyStrategy;
+
+import java.util.Set;
+
+/**
+ * The {@link RespawnCopyStrategy} of every component attached to an entity class, flattened in container order.
+ */
+public final class RespawnCopyTable {
+    private final ComponentKey<?>[] keys;
+    private final RespawnCopyStrategy<?>[] strategies;
+
+    RespawnCopyTable(Class<? extends LivingEntity> entityClass, Set<ComponentKey<?>> keys) {
+        this.keys = keys.toArray(new ComponentKey<?>[0]);
+        this.strategies = new RespawnCopyStrategy<?>[this.keys.length];
+
+        for (int i = 0; i < this.keys.length; i++) {
+            this.strategies[i] = CardinalEntityInternals.getRespawnCopyStrategy(this.keys[i], entityClass);
+        }
+    }
+
+    /**
+     * Copies the components of {@code original} to {@code clone}, following their respawn copy strategies.
+     *
+     * @param cloneKeys the keys of the components attached to {@code clone}, to skip missing components, or {@code null}
+     *                  if {@code clone} is expected to have every component of {@code original}
+     */
+    public void copy(LivingEntity original, LivingEntity clone, @Nullable Set<ComponentKey<?>> cloneKeys, RegistryWrapper.WrapperLookup registryLookup, boolean lossless, boolean keepInventory, boolean sameCharacter) {
+        ComponentContainer from = ((ComponentProvider) original).getComponentContainer();
+        ComponentContainer to = ((ComponentProvider) clone).getComponentContainer();
+
+        for (int i = 0; i < this.keys.length; i++) {
+            ComponentKey<?> key = this.keys[i];
+
+            if (cloneKeys == null || cloneKeys.contains(key)) {
+                @SuppressWarnings("unchecked") var strategy = (RespawnCopyStrategy<Component>) this.strategies[i];
+                strategy.copyForRespawn(key.getFromContainer(from), key.getFromContainer(to), registryLookup, lossless, keepInventory, sameCharacter);
+            }
+        }
+    }
+}
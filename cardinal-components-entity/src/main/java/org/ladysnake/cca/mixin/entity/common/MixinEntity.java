@@ -27,12 +27,17 @@ import net.minecraft.entity.Entity;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.network.RegistryByteBuf;
 import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.server.network.PlayerAssociatedNetworkHandler;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.world.World;
 import org.ladysnake.cca.api.v3.component.ComponentContainer;
 import org.ladysnake.cca.api.v3.component.ComponentKey;
 import org.ladysnake.cca.api.v3.component.ComponentProvider;
 import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
+import org.ladysnake.cca.api.v3.component.sync.ComponentPacketWriter;
+import org.ladysnake.cca.api.v3.component.sync.PlayerSyncPredicate;
+import org.ladysnake.cca.api.v3.component.sync.SyncRecipientVisitor;
 import org.ladysnake.cca.internal.base.ComponentUpdatePayload;
 import org.ladysnake.cca.internal.entity.CardinalComponentsEntity;
 import org.ladysnake.cca.internal.entity.CardinalEntityInternals;
@@ -95,6 +100,26 @@ public abstract class MixinEntity implements ComponentProvider {
         return List.of();
     }
 
+    @Override
+    public void forEachSyncRecipient(SyncRecipientVisitor visitor, ComponentKey<?> key, ComponentPacketWriter writer, PlayerSyncPredicate predicate) {
+        if (this.world instanceof ServerWorld serverWorld) {
+            if ((Object) this instanceof ServerPlayerEntity player && player.networkHandler != null) {
+                visitor.visit(player, key, this, writer, predicate);
+            }
+            Object tracker = ((ServerChunkLoadingManagerAccessor) serverWorld.getChunkManager().chunkLoadingManager).cca$getEntityTrackers().get(this.getId());
+            if (tracker != null) {
+                for (PlayerAssociatedNetworkHandler listener : ((EntityTrackerAccessor) tracker).cca$getListeners()) {
+                    visitor.visit(listener.getPlayer(), key, this, writer, predicate);
+                }
+            }
+        }
+    }
+
+    @Override
+    public double getSquaredSyncDistance(ServerPlayerEntity player) {
+        return player.squaredDistanceTo((Entity) (Object) this);
+    }
+
     @SuppressWarnings("AddedMixinMembersNamePattern")   // it's okay, we have custom types in the descriptor
     @Override
     public <C extends AutoSyncedComponent> ComponentUpdatePayload<?> toComponentPacket(ComponentKey<? super C> key, boolean required, RegistryByteBuf data) {
@@ -35,6 +35,7 @@ import net.minecraft.registry.RegistryKey;
 import net.minecraft.registry.RegistryKeys;
 import net.minecraft.util.Identifier;
 import org.ladysnake.cca.api.v3.entity.EntityComponentFactoryRegistry;
+import org.ladysnake.cca.api.v3.entity.EntityComponentIndex;
 import org.ladysnake.cca.api.v3.entity.EntityComponentInitializer;
 import org.ladysnake.cca.api.v3.entity.RespawnCopyStrategy;
 import org.ladysnake.cca.test.base.BaseVita;
@@ -46,6 +47,7 @@ public class CcaEntityTestMod implements ModInitializer, EntityComponentInitiali
     public static final EntityType<TestEntity> TEST_ENTITY = EntityType.Builder.create(TestEntity::new, SpawnGroup.MISC).build(TEST_ENTITY_ID);
     public static final int NATURAL_VITA_CEILING = 10;
     public static final int CAMEL_BASE_VITA = 50;
+    public static final EntityComponentIndex<LoadAwareTestComponent> LOAD_AWARE_INDEX = EntityComponentIndex.get(LoadAwareTestComponent.KEY);
 
     public static BaseVita createForEntity(LivingEntity e) {
         return new BaseVita((int) (Math.random() * NATURAL_VITA_CEILING));
@@ -36,14 +36,20 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.test.GameTest;
+import net.minecraft.test.GameTestException;
 import net.minecraft.test.TestContext;
 import net.minecraft.util.Hand;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
+import org.ladysnake.cca.api.v3.component.ComponentQuery;
 import org.ladysnake.cca.test.base.LoadAwareTestComponent;
 import org.ladysnake.cca.test.base.Vita;
 import org.ladysnake.elmendorf.GameTestUtil;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class CcaEntityTestSuite implements FabricGameTest {
     @GameTest(templateName = EMPTY_STRUCTURE)
     public void bucketableWorks(TestContext ctx) {
@@ -81,6 +87,38 @@ public class CcaEntityTestSuite implements FabricGameTest {
         });
     }
 
+    @GameTest(templateName = EMPTY_STRUCTURE)
+    public void indexTracksLoadedEntities(TestContext ctx) {
+        ShulkerEntity shulker = ctx.spawnEntity(EntityType.SHULKER, 1, 0, 1);
+        Box box = new Box(ctx.getAbsolutePos(new BlockPos(1, 0, 1)));
+        List<Entity> found = new ArrayList<>();
+        CcaEntityTestMod.LOAD_AWARE_INDEX.forEachIn(ctx.getWorld(), box, (e, c) -> found.add(e));
+        GameTestUtil.assertTrue("Index should contain the loaded entity", found.equals(List.of(shulker)));
+        shulker.remove(Entity.RemovalReason.DISCARDED);
+        ctx.waitAndRun(1, () -> {
+            found.clear();
+            CcaEntityTestMod.LOAD_AWARE_INDEX.forEachIn(ctx.getWorld(), box, (e, c) -> found.add(e));
+            GameTestUtil.assertTrue("Index should not contain unloaded entities", found.isEmpty());
+            ctx.complete();
+        });
+    }
+
+    @GameTest(templateName = EMPTY_STRUCTURE)
+    public void queriesOnlyVisitMatchingEntities(TestContext ctx) {
+        ShulkerEntity shulker = ctx.spawnEntity(EntityType.SHULKER, 1, 0, 1);
+        CowEntity cow = ctx.spawnEntity(EntityType.COW, 2, 0, 2);
+        List<Entity> found = new ArrayList<>();
+        ComponentQuery.of(LoadAwareTestComponent.KEY, Vita.KEY).forEach(List.of(shulker, cow), (e, loadAware, vita) -> found.add(e));
+        GameTestUtil.assertTrue("Query should only visit entities with every component", found.equals(List.of(shulker)));
+        try {
+            ComponentQuery.of(LoadAwareTestComponent.KEY, Vita.KEY).parallelForEach(List.of(shulker, cow), (e, loadAware, vita) -> {});
+            throw new GameTestException("Parallel queries over components that are not thread-safe should be rejected");
+        } catch (IllegalStateException expected) {
+            // components are not thread-safe
+        }
+        ctx.complete();
+    }
+
     @GameTest(templateName = EMPTY_STRUCTURE)
     public void moddedEntitiesWork(TestContext ctx) {
         ctx.spawnEntity(CcaEntityTestMod.TEST_ENTITY, 0, 0, 0);
@@ -0,0 +1,63 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.api.v3.scoreboard;
+
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.scoreboard.ServerScoreboard;
+import net.minecraft.scoreboard.Team;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
+import org.ladysnake.cca.internal.scoreboard.TeamComponentSyncTracker;
+import org.ladysnake.cca.mixin.scoreboard.TeamAccessor;
+
+/**
+ * This class consists exclusively of static methods related to the synchronization of team components.
+ *
+ * @since 6.3.0
+ */
+public final class TeamComponents {
+    /**
+     * Marks a team component as changed, scheduling its synchronization with every player.
+     *
+     * <p>Unlike {@link ComponentKey#sync(Object)}, which sends a packet immediately, marked components are
+     * sent at most once per tick, in a single packet per player for all teams.
+     * This method has no effect on the client, or if the component is not an {@link AutoSyncedComponent}.
+     * Without the Fabric Lifecycle Events module, the component gets synced immediately instead.
+     *
+     * @param key  the key of the component that changed
+     * @param team the team to which the component is attached
+     */
+    public static void markDirty(ComponentKey<?> key, Team team) {
+        if (((TeamAccessor) team).getScoreboard() instanceof ServerScoreboard) {
+            if (FabricLoader.getInstance().isModLoaded("fabric-lifecycle-events-v1")) {
+                TeamComponentSyncTracker.markDirty(key, team);
+            } else {
+                key.sync(team);
+            }
+        }
+    }
+
+    private TeamComponents() {
+        throw new UnsupportedOperationException();
+    }
+}
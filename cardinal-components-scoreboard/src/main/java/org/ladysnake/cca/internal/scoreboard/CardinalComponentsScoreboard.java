@@ -24,11 +24,13 @@ package org.ladysnake.cca.internal.scoreboard;
 
 import com.mojang.datafixers.util.Unit;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.network.codec.PacketCodecs;
 import net.minecraft.network.packet.CustomPayload;
 import net.minecraft.network.packet.s2c.common.CustomPayloadS2CPacket;
-import net.minecraft.scoreboard.Team;
+import net.minecraft.util.Identifier;
 import org.ladysnake.cca.api.v3.component.ComponentKey;
 import org.ladysnake.cca.api.v3.component.ComponentProvider;
 import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
@@ -52,31 +54,43 @@ public final class CardinalComponentsScoreboard {
      * called on the game thread.
      */
     public static final CustomPayload.Id<ComponentUpdatePayload<String>> TEAM_PACKET_ID = ComponentUpdatePayload.id("team_sync");
+    /**
+     * {@link CustomPayloadS2CPacket} channel for batched team component synchronization.
+     *
+     * @see TeamComponentSyncTracker
+     */
+    public static final CustomPayload.Id<TeamBatchSyncPayload> TEAM_BATCH_PACKET_ID = new CustomPayload.Id<>(Identifier.of("cardinal-components", "team_batch_sync"));
 
     public static void init() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
             ComponentUpdatePayload.register(SCOREBOARD_PACKET_ID, MorePacketCodecs.EMPTY);
             ComponentUpdatePayload.register(TEAM_PACKET_ID, PacketCodecs.STRING);
+            PayloadTypeRegistry.playS2C().register(TEAM_BATCH_PACKET_ID, TeamBatchSyncPayload.CODEC);
             ScoreboardSyncCallback.EVENT.register((player, tracked) -> {
                 for (ComponentKey<?> key : tracked.asComponentProvider().getComponentContainer().keys()) {
                     key.syncWith(player, tracked.asComponentProvider());
                 }
 
-                for (Team team : tracked.getTeams()) {
-                    for (ComponentKey<?> key : team.asComponentProvider().getComponentContainer().keys()) {
-                        key.syncWith(player, team.asComponentProvider());
-                    }
-                }
+                TeamComponentSyncTracker.syncAll(player, tracked);
             });
             TeamAddCallback.EVENT.register((tracked) -> {
-                for (ComponentKey<?> key : tracked.asComponentProvider().getComponentContainer().keys()) {
-                    tracked.syncComponent(key);
+                if (FabricLoader.getInstance().isModLoaded("fabric-lifecycle-events-v1")) {
+                    // membership changes re-add teams, so bursts of them only get synced once per tick
+                    TeamComponentSyncTracker.markDirty(tracked);
+                } else {
+                    for (ComponentKey<?> key : tracked.asComponentProvider().getComponentContainer().keys()) {
+                        tracked.syncComponent(key);
+                    }
                 }
             });
         }
         if (FabricLoader.getInstance().isModLoaded("fabric-lifecycle-events-v1")) {
             ServerLifecycleEvents.SERVER_STARTED.register((server) -> ((ComponentProvider) server.getScoreboard()).getComponentContainer().onServerLoad());
-            ServerLifecycleEvents.SERVER_STOPPED.register((server) -> ((ComponentProvider) server.getScoreboard()).getComponentContainer().onServerUnload());
+            ServerLifecycleEvents.SERVER_STOPPED.register((server) -> {
+                ((ComponentProvider) server.getScoreboard()).getComponentContainer().onServerUnload();
+                TeamComponentSyncTracker.clear();
+            });
+            ServerTickEvents.END_SERVER_TICK.register(TeamComponentSyncTracker::flushAll);
         }
         StaticScoreboardComponentPlugin.INSTANCE.ensureInitialized();
     }
@@ -23,11 +23,14 @@
 package org.ladysnake.cca.internal.scoreboard;
 
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.client.network.ClientPlayNetworkHandler;
 import net.minecraft.scoreboard.Scoreboard;
 import net.minecraft.scoreboard.Team;
+import org.ladysnake.cca.internal.base.BatchedComponentUpdatePayload;
 import org.ladysnake.cca.internal.base.CcaClientInternals;
+import org.ladysnake.cca.internal.base.ClientSyncQueue;
 
 import java.util.Objects;
 
@@ -47,14 +50,24 @@ public final class CcaScoreboardClient {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
             CcaClientInternals.registerComponentSync(
                 CardinalComponentsScoreboard.TEAM_PACKET_ID,
-                (payload, ctx) -> payload.componentKey().flatMap(key -> key.maybeGet(Objects.requireNonNull(ctx.client().world).getScoreboard().getTeam(payload.targetData()))
-            ));
+                (payload, ctx) -> Objects.requireNonNull(ctx.client().world).getScoreboard().getTeam(payload.targetData())
+            );
             CcaClientInternals.registerComponentSync(
                 CardinalComponentsScoreboard.SCOREBOARD_PACKET_ID,
-                (payload, ctx) -> payload.componentKey().flatMap(
-                    key -> key.maybeGet(Objects.requireNonNull(ctx.client().world).getScoreboard())
-                )
+                (payload, ctx) -> Objects.requireNonNull(ctx.client().world).getScoreboard()
             );
+            ClientPlayNetworking.registerGlobalReceiver(CardinalComponentsScoreboard.TEAM_BATCH_PACKET_ID, (payload, ctx) -> ClientSyncQueue.receive(ctx, new ClientSyncQueue.Update() {
+                @Override
+                public boolean apply(ClientPlayNetworking.Context ctx) {
+                    payload.applyTo(Objects.requireNonNull(ctx.client().world).getScoreboard());
+                    return true;
+                }
+
+                @Override
+                public void release() {
+                    BatchedComponentUpdatePayload.release(payload.componentEntries());
+                }
+            }));
         }
     }
 }
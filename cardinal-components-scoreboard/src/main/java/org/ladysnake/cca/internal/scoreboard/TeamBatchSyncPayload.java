@@ -0,0 +1,79 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.scoreboard;
+
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.scoreboard.Scoreboard;
+import org.ladysnake.cca.internal.base.BatchedComponentUpdatePayload;
+import org.ladysnake.cca.internal.base.CcaClientInternals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A payload holding the sync data of components attached to several teams, each team being addressed by its name.
+ */
+public record TeamBatchSyncPayload(List<TeamEntry> teams) implements CustomPayload {
+    public static final PacketCodec<RegistryByteBuf, TeamBatchSyncPayload> CODEC = PacketCodec.tuple(
+        TeamEntry.CODEC.collect(PacketCodecs.toList()), TeamBatchSyncPayload::teams,
+        TeamBatchSyncPayload::new
+    );
+
+    /**
+     * {@return every component entry held by this payload, across all teams}
+     */
+    public List<BatchedComponentUpdatePayload.Entry> componentEntries() {
+        List<BatchedComponentUpdatePayload.Entry> entries = new ArrayList<>();
+        for (TeamEntry team : this.teams) {
+            entries.addAll(team.components());
+        }
+        return entries;
+    }
+
+    /**
+     * Applies the sync data held by this payload to the teams of the same name in {@code scoreboard}.
+     *
+     * @throws org.ladysnake.cca.internal.base.UnknownComponentException if an entry marked as required has an unknown component key
+     */
+    public void applyTo(Scoreboard scoreboard) {
+        for (TeamEntry entry : this.teams) {
+            CcaClientInternals.applySyncData(scoreboard.getTeam(entry.name()), entry.components());
+        }
+    }
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return CardinalComponentsScoreboard.TEAM_BATCH_PACKET_ID;
+    }
+
+    public record TeamEntry(String name, List<BatchedComponentUpdatePayload.Entry> components) {
+        public static final PacketCodec<RegistryByteBuf, TeamEntry> CODEC = PacketCodec.tuple(
+            PacketCodecs.STRING, TeamEntry::name,
+            BatchedComponentUpdatePayload.Entry.CODEC.collect(PacketCodecs.toList()), TeamEntry::components,
+            TeamEntry::new
+        );
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.scoreboard;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceArraySet;
+import net.minecraft.scoreboard.Scoreboard;
+import net.minecraft.scoreboard.Team;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.ladysnake.cca.api.v3.component.ComponentKey;
+import org.ladysnake.cca.internal.base.BatchedComponentUpdatePayload;
+import org.ladysnake.cca.mixin.scoreboard.TeamAccessor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Keeps track of the team components {@linkplain org.ladysnake.cca.api.v3.scoreboard.TeamComponents#markDirty(ComponentKey, Team) marked dirty},
+ * and sends them to every player at the end of the tick, in a single payload for all teams.
+ */
+public final class TeamComponentSyncTracker {
+    private static final Map<Team, Set<ComponentKey<?>>> dirtyTeams = new Reference2ObjectLinkedOpenHashMap<>();
+
+    public static void markDirty(ComponentKey<?> key, Team team) {
+        dirtyTeams.computeIfAbsent(team, t -> new ReferenceArraySet<>()).add(key);
+    }
+
+    public static void markDirty(Team team) {
+        dirtyTeams.computeIfAbsent(team, t -> new ReferenceArraySet<>()).addAll(team.asComponentProvider().getComponentContainer().keys());
+    }
+
+    /**
+     * Sends every component of every team in {@code scoreboard} to {@code player}.
+     */
+    public static void syncAll(ServerPlayerEntity player, Scoreboard scoreboard) {
+        batchAll(player, scoreboard, entries -> send(player, entries));
+    }
+
+    static void batchAll(ServerPlayerEntity player, Scoreboard scoreboard, Consumer<List<TeamBatchSyncPayload.TeamEntry>> sink) {
+        batch(player, scoreboard.getTeams(), team -> team.asComponentProvider().getComponentContainer().keys(), sink);
+    }
+
+    /**
+     * Sends the dirty components of every team to every player.
+     */
+    public static void flushAll(MinecraftServer server) {
+        flush(server.getPlayerManager().getPlayerList(), TeamComponentSyncTracker::send);
+    }
+
+    static void flush(Collection<ServerPlayerEntity> players, BiConsumer<ServerPlayerEntity, List<TeamBatchSyncPayload.TeamEntry>> sink) {
+        if (dirtyTeams.isEmpty()) return;
+
+        // teams removed since they were marked are not known to clients anymore
+        dirtyTeams.keySet().removeIf(team -> ((TeamAccessor) team).getScoreboard().getTeam(team.getName()) != team);
+
+        for (ServerPlayerEntity player : players) {
+            batch(player, dirtyTeams.keySet(), dirtyTeams::get, entries -> sink.accept(player, entries));
+        }
+
+        dirtyTeams.clear();
+    }
+
+    public static void clear() {
+        dirtyTeams.clear();
+    }
+
+    /**
+     * Collects the sync data of {@code teams} into as few batches as possible, each batch holding at most
+     * {@value BatchedComponentUpdatePayload#MAX_DATA_SIZE} bytes of component data, unless it holds a single team that is larger on its own.
+     */
+    private static void batch(ServerPlayerEntity player, Collection<Team> teams, Function<Team, ? extends Iterable<? extends ComponentKey<?>>> keys, Consumer<List<TeamBatchSyncPayload.TeamEntry>> sink) {
+        List<TeamBatchSyncPayload.TeamEntry> entries = new ArrayList<>();
+
+        for (Team team : teams) {
+            List<BatchedComponentUpdatePayload.Entry> components = BatchedComponentUpdatePayload.collectEntries(player, team.asComponentProvider(), keys.apply(team));
+
+            if (components != null) {
+                entries.add(new TeamBatchSyncPayload.TeamEntry(team.getName(), components));
+            }
+        }
+
+        BatchedComponentUpdatePayload.split(entries, entry -> BatchedComponentUpdatePayload.dataSize(entry.components()), sink);
+    }
+
+    private static void send(ServerPlayerEntity player, List<TeamBatchSyncPayload.TeamEntry> entries) {
+        TeamBatchSyncPayload payload = new TeamBatchSyncPayload(entries);
+        BatchedComponentUpdatePayload.send(player, payload, payload.componentEntries());
+    }
+}
@@ -22,15 +22,29 @@
  */
 package org.ladysnake.cca.mixin.scoreboard;
 
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtHelper;
+import net.minecraft.registry.RegistryWrapper;
 import net.minecraft.scoreboard.ScoreboardState;
 import net.minecraft.world.PersistentState;
+import org.ladysnake.cca.internal.base.AsyncNbtWriter;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
+import java.io.File;
+
 @Mixin(PersistentState.class)
 public abstract class MixinPersistentState {
+    @Shadow
+    public abstract NbtCompound writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registries);
+
+    @Shadow
+    public abstract void setDirty(boolean dirty);
+
     @Inject(method = "isDirty", at = @At("RETURN"), cancellable = true)
     private void forceDirty(CallbackInfoReturnable<Boolean> cir) {
         //noinspection ConstantConditions
@@ -38,4 +52,20 @@ public abstract class MixinPersistentState {
             cir.setReturnValue(true);
         }
     }
+
+    /**
+     * Scoreboards get serialized on the server thread as usual, but compressed and written on the IO worker
+     */
+    @Inject(method = "save", at = @At("HEAD"), cancellable = true)
+    private void saveAsync(File file, RegistryWrapper.WrapperLookup registries, CallbackInfo ci) {
+        //noinspection ConstantConditions
+        if ((Object) this instanceof ScoreboardState) {
+            NbtCompound root = new NbtCompound();
+            root.put("data", this.writeNbt(new NbtCompound(), registries));
+            NbtHelper.putDataVersion(root);
+            AsyncNbtWriter.submit(file.toPath(), () -> root);
+            this.setDirty(false);
+            ci.cancel();
+        }
+    }
 }
@@ -31,6 +31,9 @@ import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
 import org.ladysnake.cca.api.v3.component.ComponentKey;
 import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
+import org.ladysnake.cca.api.v3.component.sync.ComponentPacketWriter;
+import org.ladysnake.cca.api.v3.component.sync.PlayerSyncPredicate;
+import org.ladysnake.cca.api.v3.component.sync.SyncRecipientVisitor;
 import org.ladysnake.cca.api.v3.scoreboard.TeamAddCallback;
 import org.ladysnake.cca.internal.base.ComponentUpdatePayload;
 import org.ladysnake.cca.internal.scoreboard.CardinalComponentsScoreboard;
@@ -66,6 +69,17 @@ public abstract class MixinServerScoreboard extends MixinScoreboard {
         return List.of();
     }
 
+    @Override
+    public void forEachSyncRecipient(SyncRecipientVisitor visitor, ComponentKey<?> key, ComponentPacketWriter writer, PlayerSyncPredicate predicate) {
+        MinecraftServer server = this.server;
+
+        if (server.getPlayerManager() != null) {
+            for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+                visitor.visit(player, key, this, writer, predicate);
+            }
+        }
+    }
+
     @Override
     public <C extends AutoSyncedComponent> ComponentUpdatePayload<?> toComponentPacket(ComponentKey<? super C> key, boolean required, RegistryByteBuf data) {
         return new ComponentUpdatePayload<>(
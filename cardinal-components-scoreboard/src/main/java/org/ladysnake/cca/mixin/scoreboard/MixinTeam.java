@@ -30,6 +30,9 @@ import org.ladysnake.cca.api.v3.component.ComponentContainer;
 import org.ladysnake.cca.api.v3.component.ComponentKey;
 import org.ladysnake.cca.api.v3.component.ComponentProvider;
 import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
+import org.ladysnake.cca.api.v3.component.sync.ComponentPacketWriter;
+import org.ladysnake.cca.api.v3.component.sync.PlayerSyncPredicate;
+import org.ladysnake.cca.api.v3.component.sync.SyncRecipientVisitor;
 import org.ladysnake.cca.internal.base.ComponentUpdatePayload;
 import org.ladysnake.cca.internal.scoreboard.CardinalComponentsScoreboard;
 import org.ladysnake.cca.internal.scoreboard.StaticScoreboardComponentPlugin;
@@ -74,6 +77,13 @@ public abstract class MixinTeam implements ComponentProvider, TeamAccessor {
         return this.scoreboard.asComponentProvider().getRecipientsForComponentSync();
     }
 
+    @Override
+    public void forEachSyncRecipient(SyncRecipientVisitor visitor, ComponentKey<?> key, ComponentPacketWriter writer, PlayerSyncPredicate predicate) {
+        for (ServerPlayerEntity player : this.scoreboard.asComponentProvider().getRecipientsForComponentSync()) {
+            visitor.visit(player, key, this, writer, predicate);
+        }
+    }
+
     @Override
     public <C extends AutoSyncedComponent> ComponentUpdatePayload<?> toComponentPacket(ComponentKey<? super C> key, boolean required, RegistryByteBuf data) {
         return new ComponentUpdatePayload<>(
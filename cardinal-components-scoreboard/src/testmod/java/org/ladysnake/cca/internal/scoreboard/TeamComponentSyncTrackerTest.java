@@ -0,0 +1,173 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2024 Ladysnake
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ladysnake.cca.internal.scoreboard;
+
+import io.netty.buffer.Unpooled;
+import net.fabricmc.fabric.api.entity.FakePlayer;
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.scoreboard.Scoreboard;
+import net.minecraft.scoreboard.Team;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.test.GameTest;
+import org.junit.Assert;
+import org.ladysnake.cca.internal.base.BatchedComponentUpdatePayload;
+import org.ladysnake.cca.test.base.CardinalGameTest;
+import org.ladysnake.cca.test.scoreboard.TeamSyncTestComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TeamComponentSyncTrackerTest implements CardinalGameTest {
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void batchesAllTeamsOnLogin() {
+        Scoreboard scoreboard = new Scoreboard();
+        addTeam(scoreboard, "a", 10);
+        addTeam(scoreboard, "b", 20);
+        addTeam(scoreboard, "c", 30);
+        List<List<TeamBatchSyncPayload.TeamEntry>> batches = new ArrayList<>();
+        TeamComponentSyncTracker.batchAll(createPlayer(), scoreboard, batches::add);
+        try {
+            Assert.assertEquals(List.of(List.of("a", "b", "c")), teamNames(batches));
+        } finally {
+            release(batches);
+        }
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void flushesOnlyDirtyTeams() {
+        Scoreboard scoreboard = new Scoreboard();
+        addTeam(scoreboard, "a", 10);
+        Team dirty = addTeam(scoreboard, "b", 20);
+        ServerPlayerEntity player = createPlayer();
+        List<List<TeamBatchSyncPayload.TeamEntry>> batches = new ArrayList<>();
+        TeamComponentSyncTracker.clear();
+        TeamComponentSyncTracker.markDirty(TeamSyncTestComponent.KEY, dirty);
+        TeamComponentSyncTracker.flush(List.of(player), (p, entries) -> {
+            Assert.assertSame(player, p);
+            batches.add(entries);
+        });
+        try {
+            Assert.assertEquals(List.of(List.of("b")), teamNames(batches));
+            Assert.assertEquals(List.of(TeamSyncTestComponent.KEY.getId()), batches.getFirst().getFirst().components().stream().map(BatchedComponentUpdatePayload.Entry::componentKeyId).toList());
+            Assert.assertEquals(20, batches.getFirst().getFirst().components().getFirst().buf().readableBytes());
+        } finally {
+            release(batches);
+        }
+        batches.clear();
+        TeamComponentSyncTracker.flush(List.of(player), (p, entries) -> batches.add(entries));
+        Assert.assertTrue("Flushed teams should not get sent again", batches.isEmpty());
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void dropsRemovedDirtyTeams() {
+        Scoreboard scoreboard = new Scoreboard();
+        Team removed = addTeam(scoreboard, "a", 10);
+        List<List<TeamBatchSyncPayload.TeamEntry>> batches = new ArrayList<>();
+        TeamComponentSyncTracker.clear();
+        TeamComponentSyncTracker.markDirty(removed);
+        scoreboard.removeTeam(removed);
+        TeamComponentSyncTracker.flush(List.of(createPlayer()), (p, entries) -> batches.add(entries));
+        Assert.assertTrue("Removed teams should not get sent", batches.isEmpty());
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void splitsBatchesBeforeSizeLimit() {
+        int max = BatchedComponentUpdatePayload.MAX_DATA_SIZE;
+        Scoreboard scoreboard = new Scoreboard();
+        addTeam(scoreboard, "a", max / 2);
+        addTeam(scoreboard, "b", max / 4);
+        addTeam(scoreboard, "c", max / 2);
+        addTeam(scoreboard, "d", max + 1);
+        addTeam(scoreboard, "e", 10);
+        List<List<TeamBatchSyncPayload.TeamEntry>> batches = new ArrayList<>();
+        TeamComponentSyncTracker.batchAll(createPlayer(), scoreboard, batches::add);
+        try {
+            Assert.assertEquals(List.of(List.of("a", "b"), List.of("c"), List.of("d"), List.of("e")), teamNames(batches));
+            for (List<TeamBatchSyncPayload.TeamEntry> batch : batches) {
+                if (batch.size() > 1) {
+                    Assert.assertTrue("Batches holding several teams should not exceed the size limit", batch.stream().mapToInt(team -> BatchedComponentUpdatePayload.dataSize(team.components())).sum() <= max);
+                }
+            }
+        } finally {
+            release(batches);
+        }
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void appliesReceivedBatch() {
+        MinecraftServer server = getServer();
+        Scoreboard serverScoreboard = new Scoreboard();
+        addTeam(serverScoreboard, "a", 10);
+        addTeam(serverScoreboard, "b", 2000);
+        List<List<TeamBatchSyncPayload.TeamEntry>> batches = new ArrayList<>();
+        TeamComponentSyncTracker.batchAll(createPlayer(), serverScoreboard, batches::add);
+        RegistryByteBuf buf = new RegistryByteBuf(Unpooled.buffer(), server.getRegistryManager());
+        TeamBatchSyncPayload received;
+        try {
+            Assert.assertEquals(1, batches.size());
+            TeamBatchSyncPayload.CODEC.encode(buf, new TeamBatchSyncPayload(batches.getFirst()));
+            received = TeamBatchSyncPayload.CODEC.decode(buf);
+        } finally {
+            release(batches);
+            buf.release();
+        }
+        // stand-in for the client's scoreboard, which knows about teams by name only
+        Scoreboard clientScoreboard = new Scoreboard();
+        clientScoreboard.addTeam("a");
+        clientScoreboard.addTeam("b");
+        try {
+            received.applyTo(clientScoreboard);
+        } finally {
+            BatchedComponentUpdatePayload.release(received.componentEntries());
+        }
+        Assert.assertEquals(10, TeamSyncTestComponent.KEY.get(clientScoreboard.getTeam("a")).getReceivedSize());
+        Assert.assertEquals(2000, TeamSyncTestComponent.KEY.get(clientScoreboard.getTeam("b")).getReceivedSize());
+    }
+
+    private static Team addTeam(Scoreboard scoreboard, String name, int dataSize) {
+        Team team = scoreboard.addTeam(name);
+        TeamSyncTestComponent.KEY.get(team).setDataSize(dataSize);
+        return team;
+    }
+
+    private static List<List<String>> teamNames(List<List<TeamBatchSyncPayload.TeamEntry>> batches) {
+        return batches.stream().map(batch -> batch.stream().map(TeamBatchSyncPayload.TeamEntry::name).toList()).toList();
+    }
+
+    private static void release(List<List<TeamBatchSyncPayload.TeamEntry>> batches) {
+        for (List<TeamBatchSyncPayload.TeamEntry> batch : batches) {
+            BatchedComponentUpdatePayload.release(new TeamBatchSyncPayload(batch).componentEntries());
+        }
+    }
+
+    private static MinecraftServer getServer() {
+        return (MinecraftServer) FabricLoader.getInstance().getGameInstance();
+    }
+
+    private static ServerPlayerEntity createPlayer() {
+        return FakePlayer.get(getServer().getOverworld());
+    }
+}
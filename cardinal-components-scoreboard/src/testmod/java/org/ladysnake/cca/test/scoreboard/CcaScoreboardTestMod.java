@@ -32,5 +32,6 @@ public class CcaScoreboardTestMod implements ScoreboardComponentInitializer {
     public void registerScoreboardComponentFactories(ScoreboardComponentFactoryRegistry registry) {
         registry.registerScoreboardComponent(LoadAwareTestComponent.KEY, (sb, server) -> new LoadAwareTestComponent());
         registry.registerScoreboardComponent(Vita.KEY, (sb, server) -> new ScoreboardVita(sb));
+        registry.registerTeamComponent(TeamSyncTestComponent.KEY, (team, sb, server) -> new TeamSyncTestComponent());
     }
 }
@@ -24,10 +24,24 @@ package org.ladysnake.cca.internal.world;
 
 import net.minecraft.datafixer.DataFixTypes;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtHelper;
 import net.minecraft.registry.RegistryWrapper;
 import net.minecraft.world.PersistentState;
+import org.jetbrains.annotations.Nullable;
 import org.ladysnake.cca.api.v3.component.ComponentContainer;
+import org.ladysnake.cca.internal.base.AsyncNbtWriter;
+import org.ladysnake.cca.internal.base.ComponentContainerSnapshot;
 
+import java.io.File;
+
+/**
+ * Saves the components of a world along with its other persistent states.
+ *
+ * <p>The components get captured on the server thread when the world saves, then serialized, compared with what was
+ * last saved or loaded, and written out if they changed, all on the IO worker.
+ *
+ * @see AsyncNbtWriter
+ */
 public class ComponentPersistentState extends PersistentState {
     public static final ThreadLocal<Boolean> LOADING = ThreadLocal.withInitial(() -> false);
 
@@ -40,12 +54,19 @@ public class ComponentPersistentState extends PersistentState {
     }
 
     private final ComponentContainer components;
+    /**
+     * The serialized components as they were last successfully saved or loaded, only accessed from the IO worker once loaded
+     */
+    private @Nullable NbtCompound savedTag;
 
     public ComponentPersistentState(ComponentContainer components) {
         super();
         this.components = components;
     }
 
+    /**
+     * @return {@code true}, so that {@link #save(File, RegistryWrapper.WrapperLookup)} always gets to check for changes
+     */
     @Override
     public boolean isDirty() {
         return true;
@@ -56,9 +77,25 @@ public class ComponentPersistentState extends PersistentState {
         return this.components.toTag(tag, registryLookup);
     }
 
+    @Override
+    public void save(File file, RegistryWrapper.WrapperLookup registryLookup) {
+        ComponentContainerSnapshot snapshot = ComponentContainerSnapshot.capture(this.components, registryLookup);
+        AsyncNbtWriter.submit(file.toPath(), () -> {
+            NbtCompound data = snapshot.toTag(new NbtCompound());
+            if (data.equals(this.savedTag)) {
+                return null;
+            }
+            NbtCompound root = new NbtCompound();
+            root.put("data", data);
+            NbtHelper.putDataVersion(root);
+            return root;
+        }, root -> this.savedTag = root.getCompound("data"));
+    }
+
     public static ComponentPersistentState fromNbt(ComponentContainer components, NbtCompound tag, RegistryWrapper.WrapperLookup registryLookup) {
         ComponentPersistentState state = new ComponentPersistentState(components);
         state.components.fromTag(tag, registryLookup);
+        state.savedTag = tag.copy();
         return state;
     }
 }
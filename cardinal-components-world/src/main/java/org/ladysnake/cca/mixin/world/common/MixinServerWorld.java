@@ -29,6 +29,9 @@ import net.minecraft.server.world.ServerWorld;
 import net.minecraft.world.PersistentStateManager;
 import org.ladysnake.cca.api.v3.component.ComponentKey;
 import org.ladysnake.cca.api.v3.component.sync.AutoSyncedComponent;
+import org.ladysnake.cca.api.v3.component.sync.ComponentPacketWriter;
+import org.ladysnake.cca.api.v3.component.sync.PlayerSyncPredicate;
+import org.ladysnake.cca.api.v3.component.sync.SyncRecipientVisitor;
 import org.ladysnake.cca.internal.base.ComponentUpdatePayload;
 import org.ladysnake.cca.internal.world.CardinalComponentsWorld;
 import org.ladysnake.cca.internal.world.ComponentPersistentState;
@@ -75,6 +78,13 @@ public abstract class MixinServerWorld extends MixinWorld {
         return this.getPlayers();
     }
 
+    @Override
+    public void forEachSyncRecipient(SyncRecipientVisitor visitor, ComponentKey<?> key, ComponentPacketWriter writer, PlayerSyncPredicate predicate) {
+        for (ServerPlayerEntity player : this.getPlayers()) {
+            visitor.visit(player, key, this, writer, predicate);
+        }
+    }
+
     @Override
     public <C extends AutoSyncedComponent> ComponentUpdatePayload<?> toComponentPacket(ComponentKey<? super C> key, boolean required, RegistryByteBuf data) {
         return new ComponentUpdatePayload<>(
@@ -23,13 +23,20 @@
 package org.ladysnake.cca.test.world;
 
 import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.test.GameTest;
 import net.minecraft.test.TestContext;
 import net.minecraft.world.World;
+import org.ladysnake.cca.api.v3.component.ComponentProvider;
+import org.ladysnake.cca.internal.base.AsyncNbtWriter;
+import org.ladysnake.cca.internal.world.ComponentPersistentState;
 import org.ladysnake.cca.test.base.LoadAwareTestComponent;
 import org.ladysnake.cca.test.base.Vita;
 import org.ladysnake.elmendorf.GameTestUtil;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Objects;
 
 public class CcaWorldTestSuite implements FabricGameTest {
@@ -52,4 +59,47 @@ public class CcaWorldTestSuite implements FabricGameTest {
             ctx.complete();
         });
     }
+
+    @GameTest(templateName = EMPTY_STRUCTURE)
+    public void worldComponentsOnlySaveWhenChanged(TestContext ctx) throws IOException {
+        ServerWorld world = ctx.getWorld();
+        ComponentPersistentState state = new ComponentPersistentState(((ComponentProvider) world).getComponentContainer());
+        Path file = Files.createTempDirectory("cca-world-test").resolve("cardinal_world_components.dat");
+        state.save(file.toFile(), world.getRegistryManager());
+        AsyncNbtWriter.flush();
+        GameTestUtil.assertTrue("Components should be saved the first time", Files.exists(file));
+        Files.delete(file);
+        state.save(file.toFile(), world.getRegistryManager());
+        AsyncNbtWriter.flush();
+        GameTestUtil.assertTrue("Components should not be saved again before changing", !Files.exists(file));
+        Vita vita = Vita.get(world);
+        int vitality = vita.getVitality();
+        try {
+            vita.setVitality(vitality + 1);
+            state.save(file.toFile(), world.getRegistryManager());
+            AsyncNbtWriter.flush();
+            GameTestUtil.assertTrue("Changed components should be saved", Files.exists(file));
+        } finally {
+            vita.setVitality(vitality);
+        }
+        ctx.complete();
+    }
+
+    @GameTest(templateName = EMPTY_STRUCTURE)
+    public void worldComponentsRetryFailedSaves(TestContext ctx) throws IOException {
+        ServerWorld world = ctx.getWorld();
+        ComponentPersistentState state = new ComponentPersistentState(((ComponentProvider) world).getComponentContainer());
+        Path file = Files.createTempDirectory("cca-world-test").resolve("cardinal_world_components.dat");
+        // a non-empty directory in the way makes moving the written file in place fail
+        Path blocker = Files.createFile(Files.createDirectory(file).resolve("blocker"));
+        state.save(file.toFile(), world.getRegistryManager());
+        AsyncNbtWriter.flush();
+        GameTestUtil.assertTrue("Components should not be saved while the destination is blocked", Files.isDirectory(file));
+        Files.delete(blocker);
+        Files.delete(file);
+        state.save(file.toFile(), world.getRegistryManager());
+        AsyncNbtWriter.flush();
+        GameTestUtil.assertTrue("Components that failed to save should be saved on the next attempt, even if unchanged", Files.isRegularFile(file));
+        ctx.complete();
+    }
 }